@@ -1,11 +1,13 @@
 package com.ftgo.accountingservice;
 
+import com.ftgo.common.outbox.EnableTransactionalOutbox;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableTransactionalOutbox
 public class AccountingServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AccountingServiceApplication.class, args);
@@ -6,6 +6,7 @@ import com.ftgo.accountingservice.domain.Invoice;
 import com.ftgo.accountingservice.domain.Payment;
 import com.ftgo.accountingservice.domain.InvoiceRepository;
 import com.ftgo.accountingservice.domain.PaymentRepository;
+import com.ftgo.accountingservice.infrastructure.AccountingEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,8 +16,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Slf4j
 public class AccountingService {
+    // Saga payments are charged to the customer's payment method on file rather than a client-supplied token
+    private static final String PAYMENT_METHOD_ON_FILE = "on-file";
+
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
+    private final AccountingEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Invoice getInvoice(String invoiceId) {
@@ -34,6 +39,17 @@ public class AccountingService {
         return invoice;
     }
 
+    /**
+     * Charges an order to the customer's payment method on file unless the order already has a payment,
+     * in which case that payment is returned. Saga commands can be delivered more than once; this keeps
+     * a redelivered one from charging the customer twice.
+     */
+    @Transactional
+    public Payment authorizePayment(String orderId, String customerId, Money amount) {
+        return paymentRepository.findFirstByOrderId(orderId)
+                .orElseGet(() -> processPayment(orderId, customerId, amount, PAYMENT_METHOD_ON_FILE));
+    }
+
     @Transactional
     public Payment processPayment(String orderId, String customerId, Money amount, String paymentToken) {
         log.info("Processing payment for order: {}", orderId);
@@ -50,6 +66,8 @@ public class AccountingService {
         }
         
         payment = paymentRepository.save(payment);
+        payment.getDomainEvents().forEach(eventPublisher::publish);
+        payment.clearDomainEvents();
         log.info("Processed payment with id: {}", payment.getId());
         return payment;
     }
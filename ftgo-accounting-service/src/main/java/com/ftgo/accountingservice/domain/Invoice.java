@@ -1,12 +1,12 @@
 package com.ftgo.accountingservice.domain;
 
 import com.ftgo.common.domain.Money;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Entity
 @Table(name = "invoices")
@@ -29,7 +29,7 @@ public class Invoice {
     private Instant createdAt;
 
     public Invoice(String orderId, String customerId, Money amount) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.orderId = orderId;
         this.customerId = customerId;
         this.amount = amount;
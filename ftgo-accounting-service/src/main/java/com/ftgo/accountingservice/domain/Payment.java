@@ -1,12 +1,17 @@
 package com.ftgo.accountingservice.domain;
 
 import com.ftgo.common.domain.Money;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.PaymentCompletedEvent;
+import com.ftgo.common.events.PaymentFailedEvent;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "payments")
@@ -14,6 +19,7 @@ import java.util.UUID;
 @NoArgsConstructor
 public class Payment {
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false)
@@ -35,8 +41,11 @@ public class Payment {
     @Column(nullable = false)
     private Instant createdAt;
 
+    @Transient
+    private List<DomainEvent> domainEvents = new ArrayList<>();
+
     public Payment(String orderId, String customerId, Money amount, String paymentToken) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.orderId = orderId;
         this.customerId = customerId;
         this.amount = amount;
@@ -47,10 +56,21 @@ public class Payment {
 
     public void complete() {
         this.status = PaymentStatus.COMPLETED;
+        this.domainEvents.add(new PaymentCompletedEvent(
+                this.id, this.orderId, this.amount.getAmount().toString(), this.amount.getCurrency()));
     }
 
     public void fail() {
         this.status = PaymentStatus.FAILED;
+        this.domainEvents.add(new PaymentFailedEvent(this.id, this.orderId));
+    }
+
+    public List<DomainEvent> getDomainEvents() {
+        return new ArrayList<>(domainEvents);
+    }
+
+    public void clearDomainEvents() {
+        this.domainEvents.clear();
     }
 }
 
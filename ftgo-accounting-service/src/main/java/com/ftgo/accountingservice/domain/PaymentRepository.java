@@ -5,5 +5,6 @@ import java.util.Optional;
 public interface PaymentRepository {
     Payment save(Payment payment);
     Optional<Payment> findById(String id);
+    Optional<Payment> findFirstByOrderId(String orderId);
 }
 
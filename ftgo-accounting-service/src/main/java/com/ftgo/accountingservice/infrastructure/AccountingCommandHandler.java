@@ -0,0 +1,73 @@
+package com.ftgo.accountingservice.infrastructure;
+
+import com.ftgo.accountingservice.application.AccountingService;
+import com.ftgo.accountingservice.domain.Payment;
+import com.ftgo.accountingservice.domain.PaymentStatus;
+import com.ftgo.common.domain.Money;
+import com.ftgo.common.exception.FTGOException;
+import com.ftgo.common.outbox.TransactionalOutbox;
+import com.ftgo.common.saga.AuthorizePaymentCommand;
+import com.ftgo.common.saga.SagaCommand;
+import com.ftgo.common.saga.SagaReply;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Handles saga commands sent by Order Service's orchestrator on accounting-commands.
+ * 
+ * The payment and the reply to the saga are written in one transaction (the reply goes through the
+ * outbox), so a reply is sent if and only if the payment was stored. A declined payment or a rejected
+ * command gets a failure reply; any other error leaves the command to be redelivered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountingCommandHandler {
+    private final AccountingService accountingService;
+    private final TransactionalOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Bean
+    public Consumer<SagaCommand> accountingCommands() {
+        return command -> {
+            if (command instanceof AuthorizePaymentCommand authorizePayment) {
+                authorizePayment(authorizePayment);
+            } else {
+                log.warn("Ignoring unsupported saga command: {} for saga: {}",
+                        command.getClass().getSimpleName(), command.getSagaInstanceId());
+            }
+        };
+    }
+
+    private void authorizePayment(AuthorizePaymentCommand command) {
+        log.info("Received AuthorizePaymentCommand for order: {} (saga: {})", command.getOrderId(), command.getSagaInstanceId());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Payment payment = accountingService.authorizePayment(command.getOrderId(), command.getCustomerId(),
+                        amount(command));
+                reply(command, payment.getStatus() == PaymentStatus.COMPLETED
+                        ? SagaReply.success(command, payment.getId())
+                        : SagaReply.failure(command, "Payment " + payment.getId() + " " + payment.getStatus()));
+            });
+        } catch (FTGOException | IllegalArgumentException e) {
+            log.warn("Rejected AuthorizePaymentCommand for order: {}: {}", command.getOrderId(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> reply(command, SagaReply.failure(command, e.getMessage())));
+        }
+    }
+
+    private Money amount(AuthorizePaymentCommand command) {
+        if (command.getAmount() == null || command.getAmount().isBlank()) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        return Money.of(command.getAmount(), command.getCurrency());
+    }
+
+    private void reply(SagaCommand command, SagaReply reply) {
+        outbox.appendMessage(command.getReplyTo(), command.getSagaInstanceId(), reply);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ftgo.accountingservice.infrastructure;
+
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.outbox.TransactionalOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountingEventPublisher {
+    private static final String DESTINATION = "accounting-events";
+
+    private final TransactionalOutbox outbox;
+
+    public void publish(DomainEvent event) {
+        log.info("Publishing event: {} with id: {}", event.getClass().getSimpleName(), event.getEventId());
+        outbox.append(DESTINATION, event);
+    }
+}
@@ -0,0 +1,3 @@
+-- Ids are UUIDv7 (time-ordered) since IdGenerator; store them as 16-byte uuid instead of text.
+-- Invoices keep their text ids.
+ALTER TABLE payments ALTER COLUMN id TYPE uuid USING id::uuid;
@@ -0,0 +1,3 @@
+-- Outbox messages are sent keyed by the event's aggregate id, so Kafka keeps each aggregate's events on
+-- one partition, in order. Rows written before this migration have no key and are sent without one.
+ALTER TABLE outbox_messages ADD COLUMN message_key VARCHAR(255);
@@ -1,11 +1,15 @@
 package com.ftgo.apigateway;
 
+import com.ftgo.common.events.codec.EventCodecConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+// Decoders for consumed domain events, in whichever format restaurant-service writes them
+@Import(EventCodecConfiguration.class)
 public class ApiGatewayApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApiGatewayApplication.class, args);
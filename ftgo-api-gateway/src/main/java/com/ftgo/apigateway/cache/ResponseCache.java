@@ -0,0 +1,135 @@
+package com.ftgo.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory store of GET responses for {@link ResponseCacheGatewayFilterFactory}.
+ *
+ * Entries expire after the TTL of the route that stored them and are purged early when the data
+ * behind them changes (see {@link RestaurantCacheInvalidator}). Each gateway replica has its own
+ * store; replicas converge because each consumes the invalidation events itself.
+ *
+ * A miss takes the purge generation of its path before going to the backend and stores the response
+ * only if no purge matched the path since, so a body fetched before a purge is not kept after it.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+    private final Cache<Key, CachedResponse> cache;
+    private final int maxBodyBytes;
+    // Purge generation of paths with a miss in flight; a path is dropped when its last miss ends
+    private final ConcurrentHashMap<String, Generation> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${ftgo.gateway.response-cache.max-entries:10000}") long maxEntries,
+                         @Value("${ftgo.gateway.response-cache.max-body-bytes:262144}") int maxBodyBytes,
+                         MeterRegistry meterRegistry) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new RouteTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+    }
+
+    public CachedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Starts a miss for the path and returns its current purge generation for {@link #put}.
+     * Every call must be followed by {@link #endMiss}.
+     */
+    public long beginMiss(String path) {
+        return generations.compute(path, (p, generation) -> {
+            Generation current = generation != null ? generation : new Generation();
+            current.misses++;
+            return current;
+        }).value;
+    }
+
+    public void endMiss(String path) {
+        generations.computeIfPresent(path, (p, generation) -> --generation.misses == 0 ? null : generation);
+    }
+
+    /**
+     * Stores the response unless a purge matched its path after {@link #beginMiss} returned the generation.
+     */
+    public void put(Key key, CachedResponse response, long generation) {
+        if (response.body().length > maxBodyBytes) {
+            return;
+        }
+        // Checked and stored under the path's lock, which invalidate takes to move the generation on
+        generations.computeIfPresent(key.path(), (p, current) -> {
+            if (current.value == generation) {
+                cache.put(key, response);
+            }
+            return current;
+        });
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Drops every entry whose request path matches.
+     */
+    public void invalidate(Predicate<String> path) {
+        int before = (int) cache.estimatedSize();
+        // Generations first, so a miss storing after this point is refused and one that stored before is removed below
+        generations.forEach((inFlight, generation) -> {
+            if (path.test(inFlight)) {
+                generations.computeIfPresent(inFlight, (p, current) -> {
+                    current.value++;
+                    return current;
+                });
+            }
+        });
+        cache.asMap().keySet().removeIf(key -> path.test(key.path()));
+        log.debug("Purged response cache: {} -> {} entries", before, cache.estimatedSize());
+    }
+
+    /**
+     * A cached response is looked up by route, path with query, and the values of the route's vary headers.
+     */
+    public record Key(String routeId, String path, String query, String variant) {
+    }
+
+    public record CachedResponse(HttpHeaders headers, byte[] body, String etag, Duration ttl) {
+    }
+
+    private static class Generation {
+        private volatile long value;
+        private int misses;
+    }
+
+    private static class RouteTtl implements Expiry<Key, CachedResponse> {
+        @Override
+        public long expireAfterCreate(Key key, CachedResponse value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, CachedResponse value, long currentTime, long currentDuration) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
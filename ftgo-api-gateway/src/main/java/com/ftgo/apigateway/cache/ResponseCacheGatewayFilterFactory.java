@@ -0,0 +1,217 @@
+package com.ftgo.apigateway.cache;
+
+import com.ftgo.apigateway.support.BoundedBody;
+import com.ftgo.apigateway.support.ResponseReplay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serves GET responses of a route from {@link ResponseCache} and answers conditional GETs.
+ *
+ * A miss goes to the backend; a 200 response that may be shared (no Set-Cookie, no private or no-store
+ * Cache-Control, and Cache-Control public if the request had Authorization) is stored for the route's
+ * TTL with an ETag, the backend's own or an MD5 of the body.
+ * Hits are written from memory without touching the backend. Either way a request whose If-None-Match
+ * names the current ETag gets 304 without a body. Responses carry X-Cache: HIT or MISS.
+ *
+ * Usage: {@code - ResponseCache=60s}, or with vary-headers for request headers that change the body.
+ * The filter runs before the other route filters, so entries are keyed by the path the client used.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    static final String X_CACHE = "X-Cache";
+
+    private final ResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Before NettyWriteResponseFilter, so it writes the backend response through the decorator,
+        // and before RequestCoalescing, so hits never wait for a coalesced call
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "";
+            ResponseCache.Key key = new ResponseCache.Key(routeId, request.getPath().value(),
+                    request.getURI().getRawQuery(), variant(request, config));
+
+            ResponseCache.CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, routeId, cached);
+            }
+            long generation = responseCache.beginMiss(key.path());
+            ServerHttpResponse response = new CachingResponse(exchange, routeId, key, generation, config.getTtl());
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> responseCache.endMiss(key.path()));
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, String routeId, ResponseCache.CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(X_CACHE, "HIT");
+        if (notModified(exchange.getRequest(), cached.etag())) {
+            notModifiedCounter(routeId).increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.setETag(cached.etag());
+            if (cached.headers().getCacheControl() != null) {
+                headers.setCacheControl(cached.headers().getCacheControl());
+            }
+            return response.setComplete();
+        }
+        return ResponseReplay.write(response, HttpStatus.OK, cached.headers(), cached.body());
+    }
+
+    private static String variant(ServerHttpRequest request, Config config) {
+        if (config.getVaryHeaders().isEmpty()) {
+            return "";
+        }
+        StringBuilder variant = new StringBuilder();
+        for (String header : config.getVaryHeaders()) {
+            variant.append(request.getHeaders().getOrDefault(header, List.of())).append('\n');
+        }
+        return variant.toString();
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            // Weak comparison, as If-None-Match asks for
+            if ("*".equals(candidate) || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean shareable(HttpHeaders headers, boolean authorized) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            // The key ignores Authorization, so a response to a credentialed request must be marked public
+            return !authorized;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        return !directives.contains("no-store") && !directives.contains("private")
+                && (!authorized || directives.contains("public"));
+    }
+
+    private Counter notModifiedCounter(String routeId) {
+        return Counter.builder("gateway.response.cache.not.modified")
+                .description("Conditional GETs answered with 304 by the gateway")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers a cacheable backend response, stores it and writes it, or a 304, to the client. A response
+     * larger than the cache's max-body-bytes is written through uncached.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+        private final ServerHttpRequest request;
+        private final String routeId;
+        private final ResponseCache.Key key;
+        private final long generation;
+        private final Duration ttl;
+
+        CachingResponse(ServerWebExchange exchange, String routeId, ResponseCache.Key key, long generation, Duration ttl) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.routeId = routeId;
+            this.key = key;
+            this.generation = generation;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            boolean authorized = request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value() || !shareable(headers, authorized)
+                    || headers.getContentLength() > responseCache.getMaxBodyBytes()) {
+                return super.writeWith(body);
+            }
+            // Content-Length is missing on chunked responses, so the limit is enforced while reading
+            return BoundedBody.read(body, responseCache.getMaxBodyBytes(), bytes -> {
+                String etag = headers.getETag() != null
+                        ? headers.getETag() : "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                headers.setETag(etag);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                responseCache.put(key, new ResponseCache.CachedResponse(ResponseReplay.replayableHeaders(headers), bytes, etag, ttl), generation);
+                headers.set(X_CACHE, "MISS");
+
+                if (notModified(request, etag)) {
+                    notModifiedCounter(routeId).increment();
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.CONTENT_TYPE);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, super::writeWith);
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(60);
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ftgo.apigateway.cache;
+
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.MenuUpdatedEvent;
+import com.ftgo.common.events.RestaurantCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Purges cached catalog responses when restaurant-service publishes a change, so browse traffic
+ * sees a new restaurant or menu without waiting for the cache TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantCacheInvalidator {
+    // Gateway path of the restaurant-service route
+    private static final String RESTAURANTS_PATH = "/api/restaurants";
+
+    private final ResponseCache responseCache;
+
+    @Bean
+    public Consumer<DomainEvent> restaurantEvents() {
+        return event -> {
+            if (event instanceof RestaurantCreatedEvent restaurantCreated) {
+                log.debug("Purging restaurant list after RestaurantCreatedEvent: {}", restaurantCreated.getRestaurantId());
+                responseCache.invalidate(RestaurantCacheInvalidator::isRestaurantList);
+            } else if (event instanceof MenuUpdatedEvent menuUpdated) {
+                String restaurantPath = RESTAURANTS_PATH + "/" + menuUpdated.getRestaurantId();
+                log.debug("Purging {} after MenuUpdatedEvent", restaurantPath);
+                responseCache.invalidate(path -> isRestaurantList(path)
+                        || path.equals(restaurantPath) || path.startsWith(restaurantPath + "/"));
+            }
+        };
+    }
+
+    private static boolean isRestaurantList(String path) {
+        return path.equals(RESTAURANTS_PATH) || path.equals(RESTAURANTS_PATH + "/");
+    }
+}
@@ -0,0 +1,218 @@
+package com.ftgo.apigateway.coalescing;
+
+import com.ftgo.apigateway.support.BoundedBody;
+import com.ftgo.apigateway.support.ResponseReplay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses concurrent identical GETs of a route into one backend call (single flight).
+ *
+ * The first request for a key (route, path with query and the configured key headers) goes to the
+ * backend as the leader. Requests for the same key that arrive while it is in flight wait for it and
+ * get a copy of its response: status, content headers and body. A backend error is shared as well.
+ * The flight ends when the leader's response arrives, so later requests start a new call and never
+ * see an older response than they would have without coalescing.
+ *
+ * If the leader's response cannot be shared (streamed, larger than max-body-bytes, or the leader was
+ * cancelled), waiting requests go to the backend themselves. So do they when the leader was answered
+ * without a backend response, e.g. refused with 429 by RequestRateLimiter later in the chain: only a
+ * body written by the backend is shared, never a response completed by a filter.
+ *
+ * Usage: {@code - RequestCoalescing}, optionally with key-headers. Key headers must cover every request
+ * header that changes the response; Authorization is one by default, so callers never share responses.
+ *
+ * Metrics: gateway.requests.coalesced (requests that joined a flight), gateway.upstream.calls.saved
+ * (of those, the ones answered from the leader's response) and gateway.coalescing.flights.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+    // A conditional or partial response must only go to requests that asked for the same
+    private static final List<String> ALWAYS_KEYED = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.RANGE);
+
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalescing.flights", flights, Map::size)
+                .description("Backend calls currently shared by coalesced requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Before NettyWriteResponseFilter, so the leader's response is written through the decorator,
+        // and after ResponseCache, so cache hits are never coalesced
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "";
+            Key key = new Key(routeId, request.getPath().value(), request.getURI().getRawQuery(),
+                    keyHeaders(request, config));
+
+            Flight flight = new Flight();
+            Flight inFlight = flights.putIfAbsent(key, flight);
+            if (inFlight != null) {
+                return follow(exchange, chain, routeId, inFlight);
+            }
+            return lead(exchange, chain, key, flight, config);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, Key key, Flight flight, Config config) {
+        ServerHttpResponse response = new LeaderResponse(exchange.getResponse(), key, flight, config.getMaxBodyBytes());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(error -> {
+                    flights.remove(key, flight);
+                    flight.result.tryEmitError(error);
+                })
+                // No shareable response (cancelled, or completed without one): waiting requests go themselves
+                .doFinally(signal -> {
+                    flights.remove(key, flight);
+                    flight.result.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, String routeId, Flight flight) {
+        counter("gateway.requests.coalesced", "Requests that joined an identical request in flight", routeId)
+                .increment();
+        return flight.result.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    counter("gateway.upstream.calls.saved", "Coalesced requests answered without their own backend call", routeId)
+                            .increment();
+                    SharedResponse response = shared.get();
+                    return ResponseReplay.write(exchange.getResponse(), response.status(), response.headers(), response.body());
+                });
+    }
+
+    private static String keyHeaders(ServerHttpRequest request, Config config) {
+        StringBuilder values = new StringBuilder();
+        for (String header : config.getKeyHeaders()) {
+            values.append(request.getHeaders().getOrDefault(header, List.of())).append('\n');
+        }
+        for (String header : ALWAYS_KEYED) {
+            values.append(request.getHeaders().getOrDefault(header, List.of())).append('\n');
+        }
+        return values.toString();
+    }
+
+    private Counter counter(String name, String description, String routeId) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private record Key(String routeId, String path, String query, String headers) {
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class Flight {
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+    }
+
+    /**
+     * Passes the leader's response through and hands a copy of it to the requests waiting on its flight.
+     */
+    private class LeaderResponse extends ServerHttpResponseDecorator {
+        private final Key key;
+        private final Flight flight;
+        private final int maxBodyBytes;
+
+        LeaderResponse(ServerHttpResponse delegate, Key key, Flight flight, int maxBodyBytes) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > maxBodyBytes) {
+                unshared();
+                return super.writeWith(body);
+            }
+            // Content-Length is missing on chunked responses, so the limit is enforced while reading
+            return BoundedBody.read(body, maxBodyBytes, bytes -> {
+                share(bytes);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, tooLarge -> {
+                unshared();
+                return super.writeWith(tooLarge);
+            });
+        }
+
+        private void share(byte[] body) {
+            HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+            flights.remove(key, flight);
+            flight.result.tryEmitValue(new SharedResponse(status, ResponseReplay.replayableHeaders(getHeaders()), body));
+        }
+
+        // Waiting requests go to the backend now rather than wait for a body they will not get
+        private void unshared() {
+            flights.remove(key, flight);
+            flight.result.tryEmitEmpty();
+        }
+    }
+
+    public static class Config {
+        private List<String> keyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.AUTHORIZATION);
+        private int maxBodyBytes = 1024 * 1024;
+
+        public List<String> getKeyHeaders() {
+            return keyHeaders;
+        }
+
+        public void setKeyHeaders(List<String> keyHeaders) {
+            this.keyHeaders = keyHeaders;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ftgo.apigateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate limits partners by their API key and everyone else by client IP. The IP is the connection's
+ * remote address, or the forwarded client address when server.forward-headers-strategy is set
+ * behind a trusted proxy.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+    private final String apiKeyHeader;
+
+    public ClientKeyResolver(@Value("${ftgo.gateway.rate-limiter.api-key-header:X-API-Key}") String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String apiKey = exchange.getRequest().getHeaders().getFirst(apiKeyHeader);
+        if (StringUtils.hasText(apiKey)) {
+            return Mono.just("key:" + apiKey);
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            // An empty key is refused by RequestRateLimiter (deny-empty-key)
+            return Mono.empty();
+        }
+        return Mono.just("ip:" + remoteAddress.getAddress().getHostAddress());
+    }
+}
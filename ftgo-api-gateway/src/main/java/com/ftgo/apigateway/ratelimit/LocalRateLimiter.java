@@ -0,0 +1,138 @@
+package com.ftgo.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestRateLimiter backend that keeps its token buckets in gateway memory instead of Redis.
+ *
+ * Every route and client key (see {@link ClientKeyResolver}) gets its own {@link TokenBucket}, so a
+ * decision is one map lookup and one compare-and-set. The bucket map is bounded: buckets idle longer
+ * than idle-timeout are dropped, which loses nothing once they have refilled, and under max-keys
+ * pressure the least used go first. Limits are per gateway replica, so the effective limit of a
+ * client is the route's limit times the number of replicas it reaches.
+ *
+ * Route arguments, as for the Redis limiter:
+ * {@code local-rate-limiter.replenish-rate}, {@code .burst-capacity} and {@code .requested-tokens}.
+ * Responses carry X-RateLimit-* headers; refused requests get 429 with Retry-After in seconds.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final Config DEFAULT_CONFIG = new Config();
+
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            @Value("${ftgo.gateway.rate-limiter.max-keys:100000}") long maxKeys,
+                            @Value("${ftgo.gateway.rate-limiter.idle-timeout:10m}") Duration idleTimeout,
+                            MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        Gauge.builder("gateway.ratelimit.keys", buckets, Cache::estimatedSize)
+                .description("Client keys with a token bucket in this gateway")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, DEFAULT_CONFIG);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getReplenishRate();
+        long capacityNanos = intervalNanos * config.getBurstCapacity();
+
+        TokenBucket bucket = buckets.get(routeId + '\u0000' + id, key -> new TokenBucket());
+        long result = bucket.tryConsume(System.nanoTime(), intervalNanos, capacityNanos, config.getRequestedTokens());
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        if (result >= 0) {
+            headers.put(REMAINING_HEADER, String.valueOf(result));
+            return Mono.just(new Response(true, headers));
+        }
+        headers.put(REMAINING_HEADER, "0");
+        headers.put(RETRY_AFTER_HEADER, String.valueOf(TokenBucket.retryAfterSeconds(-result)));
+        Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests refused with 429 by the local rate limiter")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .increment();
+        return Mono.just(new Response(false, headers));
+    }
+
+    @Validated
+    public static class Config {
+        /**
+         * Tokens added to a client's bucket per second.
+         */
+        @Min(1)
+        private int replenishRate = 100;
+
+        /**
+         * Tokens a bucket holds, i.e. the largest burst a client can send at once.
+         */
+        @Min(1)
+        private int burstCapacity = 200;
+
+        /**
+         * Tokens each request takes.
+         */
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ftgo.apigateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single word, so taking tokens is one compare-and-set without locks.
+ *
+ * Instead of a token count and a refill timestamp the bucket stores the time at which it will be
+ * full again (the generic cell rate algorithm): taking n tokens pushes that time n emission intervals
+ * further, and a request is refused when doing so would put it more than a full burst ahead of now.
+ * This behaves exactly like a bucket of burstCapacity tokens refilled at replenishRate per second.
+ */
+final class TokenBucket {
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Takes tokens if the bucket holds enough.
+     *
+     * @param now            current {@link System#nanoTime()}
+     * @param intervalNanos  nanoseconds to refill one token
+     * @param capacityNanos  nanoseconds to refill the whole bucket
+     * @return the tokens left if they were taken, otherwise minus the nanoseconds until they are available
+     */
+    long tryConsume(long now, long intervalNanos, long capacityNanos, int tokens) {
+        long cost = tokens * intervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                return -Math.max(1, ahead - capacityNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (capacityNanos - ahead) / intervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Whole seconds for Retry-After, rounded up so a client that waits that long is let through.
+     *
+     * @param waitNanos nanoseconds until the tokens are available, at least 1
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ftgo.apigateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Reads a response body into memory only up to a size limit, whatever the Content-Length says.
+ *
+ * Unlike {@link DataBufferUtils#join(Publisher, int)}, which drops what it read when the limit is
+ * exceeded, a body over the limit is handed on unchanged: the buffers read so far followed by the rest,
+ * so a chunked response can still be written through.
+ */
+public final class BoundedBody {
+    private BoundedBody() {
+    }
+
+    /**
+     * Calls {@code whole} with the body if it has at most {@code maxBytes}, {@code tooLarge} with the
+     * body otherwise. Holds no more than {@code maxBytes} plus one buffer in memory.
+     */
+    public static Mono<Void> read(Publisher<? extends DataBuffer> body, int maxBytes,
+                                  Function<byte[], Mono<Void>> whole,
+                                  Function<Flux<DataBuffer>, Mono<Void>> tooLarge) {
+        AtomicLong read = new AtomicLong();
+        // One list with the whole body, or the buffers up to the one that crossed the limit and then
+        // every later buffer on its own
+        Flux<List<DataBuffer>> chunks = Flux.from(body)
+                .<DataBuffer>map(buffer -> buffer)
+                .bufferUntil(buffer -> read.addAndGet(buffer.readableByteCount()) > maxBytes);
+        return chunks
+                .switchOnFirst((first, rest) -> {
+                    if (read.get() > maxBytes) {
+                        return tooLarge.apply(rest.concatMapIterable(Function.identity()));
+                    }
+                    return rest.next()
+                            .map(BoundedBody::toBytes)
+                            .defaultIfEmpty(new byte[0])
+                            .flatMap(whole);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then();
+    }
+
+    private static byte[] toBytes(List<DataBuffer> buffers) {
+        int length = 0;
+        for (DataBuffer buffer : buffers) {
+            length += buffer.readableByteCount();
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ftgo.apigateway.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes a backend response captured for one request to the response of another one.
+ */
+public final class ResponseReplay {
+    // Per-request or per-connection headers that must not be replayed; CORS and rate limit headers are
+    // added per request and client
+    private static final Set<String> PER_REQUEST_HEADERS = Set.of(
+            "content-length", "transfer-encoding", "connection", "keep-alive", "date", "vary", "x-cache",
+            "retry-after");
+
+    private ResponseReplay() {
+    }
+
+    /**
+     * The headers of a response that belong to its content and may be sent with a copy of it.
+     */
+    public static HttpHeaders replayableHeaders(HttpHeaders headers) {
+        HttpHeaders replayable = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!PER_REQUEST_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")
+                    && !lowerCaseName.startsWith("x-ratelimit-")) {
+                replayable.put(name, new ArrayList<>(values));
+            }
+        });
+        return replayable;
+    }
+
+    public static Mono<Void> write(ServerHttpResponse response, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.ftgo.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of a {@link LocalRateLimiter} decision for many clients within their limit and one client
+ * far above it, as on the order route.
+ *
+ * Requests are sent as fast as the limiter answers, so there must be enough clients to keep each
+ * under its limit: at 1M decisions per second, 100k clients get about 9 requests per second each.
+ * acceptsAndRefuses also counts decisions: clientsRefused must stay 0, and hotClientAllowed must
+ * grow with the hot client's replenish rate of 50 per second, not with the request rate. Threads
+ * and clients can be set with -t and -p clients=...:
+ *
+ * <pre>
+ * mvn -pl ftgo-api-gateway test -Pbenchmarks -Djmh.args="LocalRateLimiterBenchmark -t 4"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalRateLimiterBenchmark {
+    private static final String ROUTE = "order-service";
+    private static final int REPLENISH_RATE = 50;
+    private static final int BURST_CAPACITY = 100;
+    private static final String HOT_CLIENT = "key:hot-partner";
+    // Every tenth request is the hot client's
+    private static final int HOT_EVERY = 10;
+
+    @Param("100000")
+    private int clients;
+
+    private LocalRateLimiter limiter;
+    private String[] clientIds;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Client {
+        private long request;
+
+        @Setup
+        public void start(LocalRateLimiterBenchmark benchmark) {
+            // Threads start at different clients, so they do not all hit the same bucket at once
+            request = benchmark.threads.getAndIncrement() * 7919L;
+        }
+
+        String next(LocalRateLimiterBenchmark benchmark) {
+            long current = request++;
+            return current % HOT_EVERY == 0 ? HOT_CLIENT : benchmark.clientIds[(int) (current % benchmark.clients)];
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Decisions {
+        public long hotClientAllowed;
+        public long clientsRefused;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hotClientAllowed = 0;
+            clientsRefused = 0;
+        }
+    }
+
+    @Setup
+    public void createLimiter() {
+        limiter = new LocalRateLimiter(new ConfigurationService(null, () -> null, () -> null),
+                1_000_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        limiter.getConfig().put(ROUTE, new LocalRateLimiter.Config()
+                .setReplenishRate(REPLENISH_RATE)
+                .setBurstCapacity(BURST_CAPACITY));
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "ip:10.0." + i;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public RateLimiter.Response decision(Client client) {
+        return limiter.isAllowed(ROUTE, client.next(this)).block();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public RateLimiter.Response acceptsAndRefuses(Client client, Decisions decisions) {
+        String id = client.next(this);
+        RateLimiter.Response response = limiter.isAllowed(ROUTE, id).block();
+        boolean hot = HOT_CLIENT.equals(id);
+        if (hot && response.isAllowed()) {
+            decisions.hotClientAllowed++;
+        } else if (!hot && !response.isAllowed()) {
+            decisions.clientsRefused++;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ftgo.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+    // 10 tokens per second, bursts of 5
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CAPACITY = 5 * INTERVAL;
+    private static final long NOW = 1_000_000_000L;
+
+    @Test
+    void startsFullAndAllowsOneBurst() {
+        TokenBucket bucket = new TokenBucket();
+
+        for (long remaining = 4; remaining >= 0; remaining--) {
+            assertEquals(remaining, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 1));
+        }
+        assertEquals(-INTERVAL, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 1));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = drained();
+
+        assertEquals(-1, bucket.tryConsume(NOW + INTERVAL - 1, INTERVAL, CAPACITY, 1));
+        assertEquals(0, bucket.tryConsume(NOW + INTERVAL, INTERVAL, CAPACITY, 1));
+        // Two and a half intervals later two whole tokens are back, the half one stays in the bucket
+        long later = NOW + INTERVAL + 5 * INTERVAL / 2;
+        assertEquals(1, bucket.tryConsume(later, INTERVAL, CAPACITY, 1));
+        assertEquals(0, bucket.tryConsume(later, INTERVAL, CAPACITY, 1));
+        assertEquals(-INTERVAL / 2, bucket.tryConsume(later, INTERVAL, CAPACITY, 1));
+    }
+
+    @Test
+    void neverHoldsMoreThanTheBurstCapacity() {
+        TokenBucket bucket = drained();
+        long muchLater = NOW + TimeUnit.HOURS.toNanos(1);
+
+        assertEquals(4, bucket.tryConsume(muchLater, INTERVAL, CAPACITY, 1));
+        assertEquals(0, bucket.tryConsume(muchLater, INTERVAL, CAPACITY, 4));
+        assertEquals(-INTERVAL, bucket.tryConsume(muchLater, INTERVAL, CAPACITY, 1));
+    }
+
+    @Test
+    void refusesRequestsForMoreTokensThanLeftWithoutTakingAny() {
+        TokenBucket bucket = new TokenBucket();
+        assertEquals(2, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 3));
+
+        assertEquals(-INTERVAL, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 3));
+        assertEquals(0, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 2));
+    }
+
+    @Test
+    void grantsExactlyTheBurstToConcurrentCallers() throws Exception {
+        TokenBucket bucket = new TokenBucket();
+        long capacity = 10_000 * INTERVAL;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 5_000; i++) {
+                        if (bucket.tryConsume(NOW, INTERVAL, capacity, 1) >= 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> caller : callers) {
+                granted += caller.get();
+            }
+            assertEquals(10_000, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void roundsRetryAfterUpToWholeSeconds() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(1, TokenBucket.retryAfterSeconds(1));
+        assertEquals(1, TokenBucket.retryAfterSeconds(INTERVAL));
+        assertEquals(1, TokenBucket.retryAfterSeconds(second));
+        assertEquals(2, TokenBucket.retryAfterSeconds(second + 1));
+        assertEquals(3, TokenBucket.retryAfterSeconds(3 * second));
+    }
+
+    @Test
+    void retryAfterIsLongEnoughToBeLetThrough() {
+        // 1 token every 1.5 seconds: the wait after a drained burst is not a whole number of seconds
+        long interval = TimeUnit.MILLISECONDS.toNanos(1_500);
+        TokenBucket bucket = new TokenBucket();
+        bucket.tryConsume(NOW, interval, interval, 1);
+
+        long wait = -bucket.tryConsume(NOW, interval, interval, 1);
+        long retryAfter = TimeUnit.SECONDS.toNanos(TokenBucket.retryAfterSeconds(wait));
+
+        assertEquals(2, TokenBucket.retryAfterSeconds(wait));
+        assertEquals(-1, bucket.tryConsume(NOW + wait - 1, interval, interval, 1));
+        assertEquals(0, bucket.tryConsume(NOW + retryAfter, interval, interval, 1));
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket();
+        assertEquals(0, bucket.tryConsume(NOW, INTERVAL, CAPACITY, 5));
+        return bucket;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ftgo.apigateway.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedBodyTest {
+    private final AtomicReference<String> whole = new AtomicReference<>();
+    private final List<String> tooLarge = new ArrayList<>();
+
+    @Test
+    void readsABodyWithinTheLimit() {
+        read(chunks("ab", "cd", "e"), 5);
+
+        assertEquals("abcde", whole.get());
+    }
+
+    @Test
+    void readsAnEmptyBody() {
+        read(Flux.empty(), 5);
+
+        assertEquals("", whole.get());
+    }
+
+    @Test
+    void handsOnAChunkedBodyOverTheLimitUnchanged() {
+        read(chunks("ab", "cd", "ef", "gh"), 5);
+
+        assertNull(whole.get());
+        assertEquals(List.of("ab", "cd", "ef", "gh"), tooLarge);
+    }
+
+    private void read(Flux<DataBuffer> body, int maxBytes) {
+        BoundedBody.read(body, maxBytes,
+                bytes -> Mono.fromRunnable(() -> whole.set(new String(bytes, StandardCharsets.UTF_8))),
+                buffers -> buffers.doOnNext(buffer -> tooLarge.add(buffer.toString(StandardCharsets.UTF_8))).then())
+                .block();
+    }
+
+    private static Flux<DataBuffer> chunks(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
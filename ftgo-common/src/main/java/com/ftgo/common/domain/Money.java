@@ -1,15 +1,43 @@
 package com.ftgo.common.domain;
 
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
 import jakarta.persistence.Embeddable;
-import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
+/**
+ * An amount of money held as a long count of minor units (cents for USD) plus an interned currency.
+ *
+ * Arithmetic is plain long arithmetic, checked for overflow, so no BigDecimal is created except
+ * when the amount is read as a decimal. Persisted through property access onto the usual
+ * amount (DECIMAL) and currency (VARCHAR) columns.
+ *
+ * Accepts what the BigDecimal-based Money accepted: any non-blank currency code, ISO 4217 or not,
+ * and any non-negative result of arithmetic. Amounts are held with two decimals, the scale of the
+ * amount columns, or with more where the currency's minor unit needs it (three for KWD). The one
+ * difference: an amount with more decimals than that (1.234 USD) is rejected instead of kept, as
+ * it was rounded off when stored anyway.
+ */
 @Embeddable
-@Getter
+@Access(AccessType.PROPERTY)
 public class Money {
-    private BigDecimal amount;
-    private String currency;
+    // Currency codes come from requests; beyond this many, units are created per use instead of shared
+    private static final int MAX_INTERNED_CURRENCIES = 1024;
+    private static final Map<String, CurrencyUnit> CURRENCIES = new ConcurrentHashMap<>();
+
+    private long minorUnits;
+    private CurrencyUnit currency;
+
+    // Set by JPA before the currency is known; converted to minor units once both columns are read
+    private BigDecimal loadedAmount;
 
     // Protected no-arg constructor for JPA
     protected Money() {
@@ -23,7 +51,12 @@ public class Money {
         if (currency == null || currency.isBlank()) {
             throw new IllegalArgumentException("Currency must not be blank");
         }
-        this.amount = amount;
+        this.currency = CurrencyUnit.of(currency);
+        this.minorUnits = this.currency.toMinorUnits(amount);
+    }
+
+    private Money(long minorUnits, CurrencyUnit currency) {
+        this.minorUnits = minorUnits;
         this.currency = currency;
     }
 
@@ -35,22 +68,163 @@ public class Money {
         return new Money(new BigDecimal(amount), currency);
     }
 
-    public Money add(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot add money with different currencies");
+    public static Money ofMinorUnits(long minorUnits, String currency) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount must be non-negative");
+        }
+        return new Money(minorUnits, CurrencyUnit.of(currency));
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, CurrencyUnit.of(currency));
+    }
+
+    /**
+     * Sum of price times quantity over the items, accumulated in a long; only the result is allocated.
+     * Every price must be in the given currency.
+     */
+    public static <T> Money total(String currency, List<T> items, Function<T, Money> price, ToIntFunction<T> quantity) {
+        CurrencyUnit unit = CurrencyUnit.of(currency);
+        long total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            Money itemPrice = price.apply(item);
+            unit.checkSame(itemPrice.currency, "add");
+            total = addExact(total, multiplyExact(itemPrice.minorUnits, quantity.applyAsInt(item)));
         }
-        return new Money(this.amount.add(other.amount), this.currency);
+        return new Money(total, unit);
+    }
+
+    public Money add(Money other) {
+        currency.checkSame(other.currency, "add");
+        return new Money(addExact(this.minorUnits, other.minorUnits), this.currency);
     }
 
     public Money multiply(int multiplier) {
-        return new Money(this.amount.multiply(new BigDecimal(multiplier)), this.currency);
+        long product = multiplyExact(this.minorUnits, multiplier);
+        if (product < 0) {
+            throw new IllegalArgumentException("Amount must be non-negative");
+        }
+        return new Money(product, this.currency);
     }
 
     public boolean isGreaterThanOrEqual(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot compare money with different currencies");
+        currency.checkSame(other.currency, "compare");
+        return this.minorUnits >= other.minorUnits;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, currency.fractionDigits());
+    }
+
+    public String getCurrency() {
+        return currency.code();
+    }
+
+    /**
+     * The amount in hundredths, or in the currency's minor unit where that is smaller:
+     * 1599 for 15.99 USD, 150 for 1.50 JPY, 1234 for 1.234 KWD.
+     */
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    protected void setAmount(BigDecimal amount) {
+        this.loadedAmount = amount;
+        resolveLoadedAmount();
+    }
+
+    protected void setCurrency(String currency) {
+        this.currency = CurrencyUnit.of(currency);
+        resolveLoadedAmount();
+    }
+
+    private void resolveLoadedAmount() {
+        if (loadedAmount != null && currency != null) {
+            this.minorUnits = currency.toMinorUnits(loadedAmount);
+            this.loadedAmount = null;
         }
-        return this.amount.compareTo(other.amount) >= 0;
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        return minorUnits == other.minorUnits && currency.isSame(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getAmount() + " " + getCurrency();
+    }
+
+    private static long addExact(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range", e);
+        }
+    }
+
+    private static long multiplyExact(long a, int b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range", e);
+        }
+    }
+
+    /**
+     * One shared instance per currency code, so currencies normally compare by reference.
+     */
+    private record CurrencyUnit(String code, int fractionDigits) {
+        static CurrencyUnit of(String code) {
+            CurrencyUnit unit = CURRENCIES.get(code);
+            if (unit != null) {
+                return unit;
+            }
+            return CURRENCIES.size() < MAX_INTERNED_CURRENCIES
+                    ? CURRENCIES.computeIfAbsent(code, CurrencyUnit::create)
+                    : create(code);
+        }
+
+        private static CurrencyUnit create(String code) {
+            int fractionDigits;
+            try {
+                fractionDigits = Currency.getInstance(code).getDefaultFractionDigits();
+            } catch (IllegalArgumentException e) {
+                // Not an ISO 4217 code; accepted like any other currency string
+                fractionDigits = -1;
+            }
+            return new CurrencyUnit(code, Math.max(fractionDigits, 2));
+        }
+
+        long toMinorUnits(BigDecimal amount) {
+            try {
+                return amount.setScale(fractionDigits, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException(
+                        "Amount " + amount.toPlainString() + " is not a whole number of " + code + " minor units", e);
+            }
+        }
+
+        boolean isSame(CurrencyUnit other) {
+            return this == other || code.equals(other.code);
+        }
+
+        void checkSame(CurrencyUnit other, String operation) {
+            if (!isSame(other)) {
+                throw new IllegalArgumentException("Cannot " + operation + " money with different currencies");
+            }
+        }
+    }
+}
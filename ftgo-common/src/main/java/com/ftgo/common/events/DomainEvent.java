@@ -2,9 +2,9 @@ package com.ftgo.common.events;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.ftgo.common.id.IdGenerator;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
 @JsonSubTypes({
@@ -31,7 +31,11 @@ import java.util.UUID;
     // Delivery Events
     @JsonSubTypes.Type(value = DeliveryCreatedEvent.class, name = "DeliveryCreated"),
     @JsonSubTypes.Type(value = DeliveryPickedUpEvent.class, name = "DeliveryPickedUp"),
-    @JsonSubTypes.Type(value = DeliveryDeliveredEvent.class, name = "DeliveryDelivered")
+    @JsonSubTypes.Type(value = DeliveryDeliveredEvent.class, name = "DeliveryDelivered"),
+    
+    // Accounting Events
+    @JsonSubTypes.Type(value = PaymentCompletedEvent.class, name = "PaymentCompleted"),
+    @JsonSubTypes.Type(value = PaymentFailedEvent.class, name = "PaymentFailed")
 })
 public abstract class DomainEvent {
     private final String eventId;
@@ -40,7 +44,7 @@ public abstract class DomainEvent {
     private final String aggregateType;
 
     protected DomainEvent(String aggregateId, String aggregateType) {
-        this.eventId = UUID.randomUUID().toString();
+        this.eventId = IdGenerator.newId();
         this.occurredAt = Instant.now();
         this.aggregateId = aggregateId;
         this.aggregateType = aggregateType;
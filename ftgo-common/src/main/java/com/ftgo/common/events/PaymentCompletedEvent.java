@@ -0,0 +1,21 @@
+package com.ftgo.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PaymentCompletedEvent extends DomainEvent {
+    private String paymentId;
+    private String orderId;
+    private String amount;
+    private String currency;
+
+    public PaymentCompletedEvent(String paymentId, String orderId, String amount, String currency) {
+        super(paymentId, "Payment");
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.currency = currency;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ftgo.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PaymentFailedEvent extends DomainEvent {
+    private String paymentId;
+    private String orderId;
+
+    public PaymentFailedEvent(String paymentId, String orderId) {
+        super(paymentId, "Payment");
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+    }
+}
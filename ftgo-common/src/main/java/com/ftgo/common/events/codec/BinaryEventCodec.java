@@ -0,0 +1,521 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.codec.EventSchema.Field;
+import com.ftgo.common.events.codec.EventSchema.FieldType;
+import com.ftgo.common.events.codec.EventSchema.Fields;
+import com.ftgo.common.exception.FTGOException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary event format.
+ *
+ * A payload is a marker byte, the writer's schema id as a varint, then one entry per non-null
+ * property: a varint key (tag &lt;&lt; 3 | wire type) followed by the value. Ids are written as 16 bytes,
+ * prices as unscaled value and scale, and instants as seconds and nanoseconds, so no property name,
+ * quote or number text is repeated per event. Every wire type carries its own length, so readers skip
+ * tags their schema does not have.
+ *
+ * Events go through the same ObjectMapper as the JSON format, streamed as tokens rather than text, so
+ * both formats decode to identical events.
+ */
+public class BinaryEventCodec implements EventCodec {
+    public static final String CONTENT_TYPE = "application/vnd.ftgo.event+binary";
+
+    // Not a valid first byte of a UTF-8 JSON document
+    static final byte MARKER = (byte) 0xF7;
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_STRING = 1;
+    static final int WIRE_UUID = 2;
+    static final int WIRE_DECIMAL = 3;
+    static final int WIRE_INSTANT = 4;
+    static final int WIRE_LIST = 5;
+
+    private static final String TYPE_PROPERTY = "type";
+    private static final byte[] HEX_DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(HEX_DIGITS, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DIGITS["0123456789abcdef".charAt(i)] = (byte) i;
+        }
+    }
+
+    private final EventSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+
+    public BinaryEventCodec(ObjectMapper objectMapper, EventSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+        this.objectMapper = objectMapper;
+        // Instants as seconds.nanos numbers, which are cheaper to take apart than ISO-8601 text
+        this.eventWriter = objectMapper.writerFor(DomainEvent.class)
+                .with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .with(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        this.eventReader = objectMapper.readerFor(DomainEvent.class);
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(DomainEvent event) {
+        try (TokenBuffer tokens = new TokenBuffer(objectMapper, false)) {
+            eventWriter.writeValue(tokens, event);
+            try (JsonParser parser = tokens.asParser()) {
+                parser.nextToken();
+                // The type id is written first; it is implied by the schema id
+                if (parser.nextToken() != JsonToken.FIELD_NAME || !TYPE_PROPERTY.equals(parser.currentName())) {
+                    throw new FTGOException("Event " + event.getEventId() + " has no leading type property");
+                }
+                parser.nextToken();
+                String type = parser.getText();
+                EventSchema schema = schemaRegistry.findLatest(type)
+                        .orElseThrow(() -> new FTGOException("No event schema registered for " + type));
+
+                Output out = new Output(256);
+                out.writeByte(MARKER);
+                out.writeVarint(schema.id());
+                writeFields(parser, schema.fields(), out, type);
+                return out.toByteArray();
+            }
+        } catch (IOException e) {
+            throw new FTGOException("Failed to serialize event " + event.getEventId(), e);
+        }
+    }
+
+    @Override
+    public DomainEvent decode(byte[] payload) {
+        Input in = new Input(payload);
+        if (payload.length == 0 || in.readByte() != MARKER) {
+            throw new FTGOException("Not a binary event payload");
+        }
+        int schemaId = (int) in.readVarint();
+        EventSchema schema = schemaRegistry.findById(schemaId)
+                .orElseThrow(() -> new FTGOException("Unknown event schema " + schemaId));
+
+        try (TokenBuffer tokens = new TokenBuffer(objectMapper, false)) {
+            tokens.writeStartObject();
+            tokens.writeStringField(TYPE_PROPERTY, schema.type());
+            readFields(in, payload.length, schema.fields(), tokens);
+            tokens.writeEndObject();
+            try (JsonParser parser = tokens.asParser()) {
+                return eventReader.readValue(parser);
+            }
+        } catch (IOException e) {
+            throw new FTGOException("Failed to deserialize event with " + schema, e);
+        }
+    }
+
+    /**
+     * Writes the properties of the object the parser is in, up to its END_OBJECT.
+     */
+    private static void writeFields(JsonParser parser, Fields fields, Output out, String path) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            Field field = fields.byName(name);
+            if (field == null) {
+                throw new FTGOException("Property " + path + "." + name + " is not in the event schema");
+            }
+            writeField(parser, token, field, out, path);
+        }
+    }
+
+    private static void writeField(JsonParser parser, JsonToken token, Field field, Output out, String path) throws IOException {
+        switch (field.type()) {
+            case ID -> writeId(out, field.tag(), requireText(parser, token, field, path));
+            case STRING -> writeString(out, field.tag(), requireText(parser, token, field, path));
+            case DECIMAL -> writeDecimal(out, field.tag(), requireText(parser, token, field, path));
+            case INT, LONG -> {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    throw invalid(field, path, "an integer");
+                }
+                out.writeKey(field.tag(), WIRE_VARINT);
+                out.writeSignedVarint(parser.getLongValue());
+            }
+            case BOOLEAN -> {
+                if (!token.isBoolean()) {
+                    throw invalid(field, path, "a boolean");
+                }
+                out.writeKey(field.tag(), WIRE_VARINT);
+                out.writeSignedVarint(token == JsonToken.VALUE_TRUE ? 1 : 0);
+            }
+            case INSTANT -> writeInstant(out, field.tag(), parser, token, field, path);
+            case LIST -> {
+                if (token != JsonToken.START_ARRAY) {
+                    throw invalid(field, path, "a list");
+                }
+                Output elements = new Output(256);
+                Output element = new Output(128);
+                int count = 0;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    element.reset();
+                    writeFields(parser, field.elementFields(), element, path + "." + field.name() + "[]");
+                    elements.writeVarint(element.size());
+                    elements.writeBytes(element.buffer, element.size());
+                    count++;
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    throw invalid(field, path, "a list of objects");
+                }
+                out.writeKey(field.tag(), WIRE_LIST);
+                out.writeVarint(count);
+                out.writeBytes(elements.buffer, elements.size());
+            }
+        }
+    }
+
+    private static void writeId(Output out, int tag, String value) {
+        // A UUID in the lower-case form UUID.toString() produces, so it decodes to the same text
+        if (value.length() != 36) {
+            writeString(out, tag, value);
+            return;
+        }
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    writeString(out, tag, value);
+                    return;
+                }
+                continue;
+            }
+            int digit = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+            if (digit < 0) {
+                writeString(out, tag, value);
+                return;
+            }
+            if (i < 18) {
+                mostSigBits = (mostSigBits << 4) | digit;
+            } else {
+                leastSigBits = (leastSigBits << 4) | digit;
+            }
+        }
+        out.writeKey(tag, WIRE_UUID);
+        out.writeLong(mostSigBits);
+        out.writeLong(leastSigBits);
+    }
+
+    private static void writeString(Output out, int tag, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeKey(tag, WIRE_STRING);
+        out.writeVarint(bytes.length);
+        out.writeBytes(bytes, bytes.length);
+    }
+
+    /**
+     * Writes a plain decimal such as "15.99" or "-3" as unscaled value and scale. Anything that would not
+     * decode to the same text (exponents, leading zeros, "-0", more than 18 digits) is written as a string.
+     */
+    private static void writeDecimal(Output out, int tag, String value) {
+        int length = value.length();
+        int i = value.startsWith("-") ? 1 : 0;
+        int integerStart = i;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !fraction && i > integerStart && i < length - 1) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9' || ++digits > 18) {
+                writeString(out, tag, value);
+                return;
+            }
+            unscaled = unscaled * 10 + (c - '0');
+            if (fraction) {
+                scale++;
+            }
+        }
+        int integerDigits = digits - scale;
+        boolean leadingZero = integerDigits > 1 && value.charAt(integerStart) == '0';
+        if (digits == 0 || leadingZero || (integerStart == 1 && unscaled == 0)) {
+            writeString(out, tag, value);
+            return;
+        }
+        out.writeKey(tag, WIRE_DECIMAL);
+        out.writeSignedVarint(integerStart == 1 ? -unscaled : unscaled);
+        out.writeVarint(scale);
+    }
+
+    private static void writeInstant(Output out, int tag, JsonParser parser, JsonToken token, Field field, String path)
+            throws IOException {
+        Instant instant;
+        try {
+            if (token.isNumeric()) {
+                BigDecimal seconds = parser.getDecimalValue();
+                long wholeSeconds = seconds.longValue();
+                instant = Instant.ofEpochSecond(wholeSeconds,
+                        seconds.subtract(BigDecimal.valueOf(wholeSeconds)).movePointRight(9).longValue());
+            } else {
+                instant = Instant.parse(requireText(parser, token, field, path));
+            }
+        } catch (DateTimeParseException | ArithmeticException e) {
+            throw invalid(field, path, "an instant");
+        }
+        out.writeKey(tag, WIRE_INSTANT);
+        out.writeSignedVarint(instant.getEpochSecond());
+        out.writeVarint(instant.getNano());
+    }
+
+    private static String requireText(JsonParser parser, JsonToken token, Field field, String path) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            throw invalid(field, path, "a string");
+        }
+        return parser.getText();
+    }
+
+    private static FTGOException invalid(Field field, String path, String expected) {
+        return new FTGOException("Property " + path + "." + field.name() + " is not " + expected);
+    }
+
+    private static void readFields(Input in, int end, Fields fields, TokenBuffer tokens) throws IOException {
+        while (in.position() < end) {
+            long key = in.readVarint();
+            int tag = (int) (key >>> 3);
+            int wireType = (int) (key & 0x7);
+            Field field = fields.byTag(tag);
+            if (field == null) {
+                skip(in, wireType);
+                continue;
+            }
+            tokens.writeFieldName(field.name());
+            readValue(in, wireType, field, tokens);
+        }
+        if (in.position() != end) {
+            throw new FTGOException("Malformed binary event payload");
+        }
+    }
+
+    private static void readValue(Input in, int wireType, Field field, TokenBuffer tokens) throws IOException {
+        switch (wireType) {
+            case WIRE_VARINT -> {
+                long value = in.readSignedVarint();
+                if (field.type() == FieldType.BOOLEAN) {
+                    tokens.writeBoolean(value != 0);
+                } else {
+                    tokens.writeNumber(value);
+                }
+            }
+            case WIRE_STRING -> tokens.writeString(in.readString());
+            case WIRE_UUID -> tokens.writeString(new UUID(in.readLong(), in.readLong()).toString());
+            case WIRE_DECIMAL -> {
+                long unscaled = in.readSignedVarint();
+                int scale = (int) in.readVarint();
+                tokens.writeString(BigDecimal.valueOf(unscaled, scale).toPlainString());
+            }
+            case WIRE_INSTANT -> {
+                long seconds = in.readSignedVarint();
+                long nanos = in.readVarint();
+                tokens.writeNumber(BigDecimal.valueOf(seconds).add(BigDecimal.valueOf(nanos, 9)));
+            }
+            case WIRE_LIST -> {
+                if (field.elementFields() == null) {
+                    throw new FTGOException("Property " + field.name() + " is not a list in the event schema");
+                }
+                long count = in.readVarint();
+                tokens.writeStartArray();
+                for (long i = 0; i < count; i++) {
+                    int length = (int) in.readVarint();
+                    tokens.writeStartObject();
+                    readFields(in, in.checkedEnd(length), field.elementFields(), tokens);
+                    tokens.writeEndObject();
+                }
+                tokens.writeEndArray();
+            }
+            default -> throw new FTGOException("Unknown wire type " + wireType);
+        }
+    }
+
+    private static void skip(Input in, int wireType) {
+        switch (wireType) {
+            case WIRE_VARINT -> in.readVarint();
+            case WIRE_STRING -> in.skip((int) in.readVarint());
+            case WIRE_UUID -> in.skip(16);
+            case WIRE_DECIMAL, WIRE_INSTANT -> {
+                in.readVarint();
+                in.readVarint();
+            }
+            case WIRE_LIST -> {
+                long count = in.readVarint();
+                for (long i = 0; i < count; i++) {
+                    in.skip((int) in.readVarint());
+                }
+            }
+            default -> throw new FTGOException("Unknown wire type " + wireType);
+        }
+    }
+
+    static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        void writeKey(int tag, int wireType) {
+            writeVarint(((long) tag << 3) | wireType);
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            byte[] bytes = buffer;
+            int position = size;
+            while ((value & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+            size = position;
+        }
+
+        /**
+         * Zigzag encoding, so small negative numbers stay short.
+         */
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            byte[] bytes = buffer;
+            int position = size;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+            size = position;
+        }
+
+        byte[] toByteArray() {
+            byte[] bytes = new byte[size];
+            System.arraycopy(buffer, 0, bytes, 0, size);
+            return bytes;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                byte[] grown = new byte[Math.max(buffer.length * 2, size + additional)];
+                System.arraycopy(buffer, 0, grown, 0, size);
+                buffer = grown;
+            }
+        }
+    }
+
+    static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int position() {
+            return position;
+        }
+
+        /**
+         * The position just after the next {@code length} bytes, checked against the end of the payload.
+         */
+        int checkedEnd(int length) {
+            if (length < 0 || length > buffer.length - position) {
+                throw truncated();
+            }
+            return position + length;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw truncated();
+            }
+            return buffer[position++];
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new FTGOException("Malformed varint in binary event payload");
+        }
+
+        long readSignedVarint() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() {
+            int end = checkedEnd(8);
+            long value = 0;
+            while (position < end) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            int start = position;
+            position = checkedEnd(length);
+            return new String(buffer, start, length, StandardCharsets.UTF_8);
+        }
+
+        void skip(int length) {
+            position = checkedEnd(length);
+        }
+
+        private static FTGOException truncated() {
+            return new FTGOException("Truncated binary event payload");
+        }
+    }
+}
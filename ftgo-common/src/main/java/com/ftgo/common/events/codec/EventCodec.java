@@ -0,0 +1,24 @@
+package com.ftgo.common.events.codec;
+
+import com.ftgo.common.events.DomainEvent;
+
+/**
+ * Turns domain events into message payloads and back, in one wire format identified by its content type.
+ */
+public interface EventCodec {
+
+    /**
+     * Content type written to the message's contentType header, e.g. application/json.
+     */
+    String contentType();
+
+    /**
+     * @throws com.ftgo.common.exception.FTGOException if the event cannot be represented in this format
+     */
+    byte[] encode(DomainEvent event);
+
+    /**
+     * @throws com.ftgo.common.exception.FTGOException if the payload is not a valid event in this format
+     */
+    DomainEvent decode(byte[] payload);
+}
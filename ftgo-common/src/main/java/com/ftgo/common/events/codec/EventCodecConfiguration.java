@@ -0,0 +1,43 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+
+import java.util.List;
+
+/**
+ * Wires the event codecs. Imported by {@link com.ftgo.common.outbox.EnableTransactionalOutbox}.
+ * The {@link MessageConverter} bean is picked up by Spring Cloud Stream for all consumer bindings.
+ */
+@Configuration
+@EnableConfigurationProperties(EventCodecProperties.class)
+public class EventCodecConfiguration {
+
+    @Bean
+    public EventSchemaRegistry eventSchemaRegistry(ObjectMapper objectMapper, EventCodecProperties properties) {
+        return new EventSchemaRegistry(objectMapper, properties.getSchemaLocation());
+    }
+
+    @Bean
+    public JsonEventCodec jsonEventCodec(ObjectMapper objectMapper) {
+        return new JsonEventCodec(objectMapper);
+    }
+
+    @Bean
+    public BinaryEventCodec binaryEventCodec(ObjectMapper objectMapper, EventSchemaRegistry eventSchemaRegistry) {
+        return new BinaryEventCodec(objectMapper, eventSchemaRegistry);
+    }
+
+    @Bean
+    public EventCodecs eventCodecs(List<EventCodec> codecs, EventCodecProperties properties) {
+        return new EventCodecs(codecs, properties.getContentType());
+    }
+
+    @Bean
+    public MessageConverter binaryEventMessageConverter(BinaryEventCodec binaryEventCodec) {
+        return new EventCodecMessageConverter(binaryEventCodec);
+    }
+}
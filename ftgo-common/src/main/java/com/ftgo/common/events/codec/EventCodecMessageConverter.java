@@ -0,0 +1,42 @@
+package com.ftgo.common.events.codec;
+
+import com.ftgo.common.events.DomainEvent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Lets Spring Cloud Stream consumers of domain events read messages whose contentType header names a
+ * non-JSON event codec. JSON messages are left to the binder's default JSON converter.
+ */
+public class EventCodecMessageConverter extends AbstractMessageConverter {
+    private final EventCodec codec;
+
+    public EventCodecMessageConverter(EventCodec codec) {
+        super(MimeType.valueOf(codec.contentType()));
+        this.codec = codec;
+        // Only claim messages that say they are in this format
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DomainEvent.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        // Events are written by the outbox, never through the binder
+        return false;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return null;
+        }
+        DomainEvent event = codec.decode(payload);
+        return targetClass.isInstance(event) ? event : null;
+    }
+}
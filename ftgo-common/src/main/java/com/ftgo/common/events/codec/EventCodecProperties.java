@@ -0,0 +1,26 @@
+package com.ftgo.common.events.codec;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for event serialization.
+ */
+@ConfigurationProperties(prefix = "ftgo.events")
+@Getter
+@Setter
+public class EventCodecProperties {
+    /**
+     * Format new events are written in: application/json or application/vnd.ftgo.event+binary.
+     * Every service reads both, so switch producers to binary only once all consumers run a
+     * version that has the binary codec.
+     */
+    private String contentType = JsonEventCodec.CONTENT_TYPE;
+
+    /**
+     * Directory with event schema files in addition to those shipped in ftgo-common, as a Spring
+     * resource location (e.g. file:/etc/ftgo/event-schemas/). Read again when an unknown schema id arrives.
+     */
+    private String schemaLocation;
+}
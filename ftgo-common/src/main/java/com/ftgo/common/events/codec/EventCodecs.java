@@ -0,0 +1,67 @@
+package com.ftgo.common.events.codec;
+
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.exception.FTGOException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes events for the outbox in the configured format and labels them with its content type.
+ *
+ * Consumers pick the decoder by that content type (see {@link EventCodecMessageConverter}), so a topic
+ * can carry JSON and binary events side by side while services switch over one at a time. An event the
+ * configured format cannot represent, for example one without a registered schema, is written as
+ * JSON instead.
+ */
+@Slf4j
+public class EventCodecs {
+    private final Map<String, EventCodec> codecsByContentType = new HashMap<>();
+    private final EventCodec writeCodec;
+    private final EventCodec fallbackCodec;
+    private final Set<String> fallbackEventTypes = ConcurrentHashMap.newKeySet();
+
+    public EventCodecs(List<EventCodec> codecs, String writeContentType) {
+        codecs.forEach(codec -> codecsByContentType.put(codec.contentType(), codec));
+        this.fallbackCodec = codec(JsonEventCodec.CONTENT_TYPE);
+        this.writeCodec = codec(writeContentType);
+    }
+
+    public EncodedEvent encode(DomainEvent event) {
+        if (writeCodec != fallbackCodec) {
+            try {
+                return new EncodedEvent(writeCodec.contentType(), writeCodec.encode(event));
+            } catch (FTGOException e) {
+                if (fallbackEventTypes.add(event.getClass().getSimpleName())) {
+                    log.warn("Writing {} as {}: {}", event.getClass().getSimpleName(), fallbackCodec.contentType(), e.getMessage());
+                }
+            }
+        }
+        return new EncodedEvent(fallbackCodec.contentType(), fallbackCodec.encode(event));
+    }
+
+    /**
+     * Decodes a payload with the codec for its content type; payloads without one are taken to be JSON.
+     */
+    public DomainEvent decode(String contentType, byte[] payload) {
+        return (contentType == null ? fallbackCodec : codec(contentType)).decode(payload);
+    }
+
+    private EventCodec codec(String contentType) {
+        EventCodec codec = codecsByContentType.get(contentType);
+        if (codec == null) {
+            throw new FTGOException("No event codec for content type " + contentType);
+        }
+        return codec;
+    }
+
+    /**
+     * An event payload and the content type it was encoded with.
+     */
+    public record EncodedEvent(String contentType, byte[] payload) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.ftgo.common.events.codec;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One registered version of an event type's binary layout: which tag each property is written under
+ * and how its value is encoded.
+ *
+ * Tags 1 to 4 are reserved for the {@link com.ftgo.common.events.DomainEvent} envelope and are part of
+ * every schema. A new version may add properties under new tags; a tag is never reused for another
+ * property, so readers skip tags they do not know.
+ */
+public final class EventSchema {
+    public static final int FIRST_EVENT_TAG = 5;
+
+    static final List<Field> ENVELOPE = List.of(
+            new Field(1, "eventId", FieldType.ID, null),
+            new Field(2, "occurredAt", FieldType.INSTANT, null),
+            new Field(3, "aggregateId", FieldType.ID, null),
+            new Field(4, "aggregateType", FieldType.STRING, null));
+
+    private final int id;
+    private final String type;
+    private final int version;
+    private final Fields fields;
+
+    EventSchema(int id, String type, int version, Fields fields) {
+        this.id = id;
+        this.type = type;
+        this.version = version;
+        this.fields = fields;
+    }
+
+    /**
+     * Globally unique id written in front of every payload encoded with this schema.
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Event type name, as in DomainEvent's {@code @JsonSubTypes}.
+     */
+    public String type() {
+        return type;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    Fields fields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return type + " v" + version + " (schema " + id + ")";
+    }
+
+    public enum FieldType {
+        /** A UUID in canonical form is written as 16 bytes, any other value as a string. */
+        ID,
+        STRING,
+        /** A plain decimal string such as "15.99" is written as unscaled value and scale, anything else as a string. */
+        DECIMAL,
+        INT,
+        LONG,
+        BOOLEAN,
+        /** An ISO-8601 instant, written as epoch seconds and nanoseconds. */
+        INSTANT,
+        /** A list of objects, each encoded with the field's nested fields. */
+        LIST
+    }
+
+    /**
+     * @param elementFields layout of each element, for LIST fields only
+     */
+    record Field(int tag, String name, FieldType type, Fields elementFields) {
+    }
+
+    /**
+     * The fields of an event or list element, indexed both ways: by property name for writing
+     * and by tag for reading.
+     */
+    static final class Fields {
+        private final Map<String, Field> byName = new LinkedHashMap<>();
+        private final Map<Integer, Field> byTag = new HashMap<>();
+
+        Fields(List<Field> fields) {
+            for (Field field : fields) {
+                if (field.tag() < 1 || field.name() == null || field.type() == null) {
+                    throw new IllegalArgumentException("Invalid field definition: " + field);
+                }
+                if ((field.type() == FieldType.LIST) != (field.elementFields() != null)) {
+                    throw new IllegalArgumentException("Only LIST fields have element fields: " + field.name());
+                }
+                if (byName.putIfAbsent(field.name(), field) != null || byTag.putIfAbsent(field.tag(), field) != null) {
+                    throw new IllegalArgumentException("Duplicate field name or tag: " + field.name() + " (" + field.tag() + ")");
+                }
+            }
+        }
+
+        Field byName(String name) {
+            return byName.get(name);
+        }
+
+        Field byTag(int tag) {
+            return byTag.get(tag);
+        }
+    }
+}
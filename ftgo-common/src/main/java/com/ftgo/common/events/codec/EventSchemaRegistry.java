@@ -0,0 +1,139 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.events.codec.EventSchema.Field;
+import com.ftgo.common.events.codec.EventSchema.FieldType;
+import com.ftgo.common.events.codec.EventSchema.Fields;
+import com.ftgo.common.exception.FTGOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * File-based stand-in for a schema registry. Schemas are JSON files, one per event type version,
+ * loaded from event-schemas/ on the classpath (the ones shipped with ftgo-common) and from an
+ * optional shared directory.
+ *
+ * Writers encode with the latest version of an event's type; readers look the schema up by the id in
+ * the payload. When an id is unknown the shared directory is read again, so a consumer can decode
+ * events written with a schema published after it started.
+ */
+@Slf4j
+public class EventSchemaRegistry {
+    static final String CLASSPATH_LOCATION = "classpath*:event-schemas/";
+
+    private final ObjectMapper objectMapper;
+    private final List<String> locations;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    private volatile Map<Integer, EventSchema> schemasById = Map.of();
+    private volatile Map<String, EventSchema> latestByType = Map.of();
+
+    /**
+     * @param sharedLocation Spring resource location of a directory with more schema files, or null
+     */
+    public EventSchemaRegistry(ObjectMapper objectMapper, String sharedLocation) {
+        this.objectMapper = objectMapper;
+        this.locations = new ArrayList<>();
+        locations.add(CLASSPATH_LOCATION);
+        if (sharedLocation != null && !sharedLocation.isBlank()) {
+            locations.add(sharedLocation.endsWith("/") ? sharedLocation : sharedLocation + "/");
+        }
+        reload();
+    }
+
+    public Optional<EventSchema> findById(int id) {
+        EventSchema schema = schemasById.get(id);
+        if (schema == null && locations.size() > 1) {
+            synchronized (this) {
+                schema = schemasById.get(id);
+                if (schema == null) {
+                    log.info("Event schema {} not registered, reloading schemas", id);
+                    reload();
+                    schema = schemasById.get(id);
+                }
+            }
+        }
+        return Optional.ofNullable(schema);
+    }
+
+    /**
+     * The highest version registered for the event type, the one new events are written with.
+     */
+    public Optional<EventSchema> findLatest(String type) {
+        return Optional.ofNullable(latestByType.get(type));
+    }
+
+    private synchronized void reload() {
+        Map<Integer, EventSchema> byId = new HashMap<>();
+        Map<String, EventSchema> latest = new HashMap<>();
+        for (String location : locations) {
+            for (Resource resource : resources(location)) {
+                EventSchema schema = read(resource);
+                EventSchema existing = byId.putIfAbsent(schema.id(), schema);
+                if (existing != null) {
+                    if (!existing.type().equals(schema.type()) || existing.version() != schema.version()) {
+                        throw new FTGOException("Schema id " + schema.id() + " is used by both "
+                                + existing + " and " + schema + " (" + resource.getDescription() + ")");
+                    }
+                    continue;
+                }
+                latest.merge(schema.type(), schema, (a, b) -> {
+                    if (a.version() == b.version()) {
+                        throw new FTGOException("Both " + a + " and " + b + " are registered as the same version");
+                    }
+                    return a.version() > b.version() ? a : b;
+                });
+            }
+        }
+        this.schemasById = Map.copyOf(byId);
+        this.latestByType = Map.copyOf(latest);
+        log.debug("Loaded {} event schemas for {} event types", byId.size(), latest.size());
+    }
+
+    private Resource[] resources(String location) {
+        try {
+            return resourceResolver.getResources(location + "*.json");
+        } catch (IOException e) {
+            throw new FTGOException("Failed to list event schemas in " + location, e);
+        }
+    }
+
+    private EventSchema read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            SchemaDefinition definition = objectMapper.readValue(in, SchemaDefinition.class);
+            List<Field> fields = new ArrayList<>(EventSchema.ENVELOPE);
+            for (FieldDefinition field : definition.fields()) {
+                if (field.tag() < EventSchema.FIRST_EVENT_TAG) {
+                    throw new IllegalArgumentException("Tags below " + EventSchema.FIRST_EVENT_TAG
+                            + " are reserved for the event envelope: " + field.name());
+                }
+                fields.add(field.toField());
+            }
+            return new EventSchema(definition.id(), definition.type(), definition.version(), new Fields(fields));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new FTGOException("Invalid event schema " + resource.getDescription(), e);
+        }
+    }
+
+    record SchemaDefinition(int id, String type, int version, List<FieldDefinition> fields) {
+    }
+
+    record FieldDefinition(int tag, String name, FieldType type, List<FieldDefinition> fields) {
+        Field toField() {
+            if (fields == null) {
+                return new Field(tag, name, type, null);
+            }
+            return new Field(tag, name, type, new Fields(fields.stream().map(FieldDefinition::toField).toList()));
+        }
+    }
+}
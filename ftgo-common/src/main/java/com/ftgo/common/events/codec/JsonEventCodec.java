@@ -0,0 +1,48 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.exception.FTGOException;
+
+import java.io.IOException;
+
+/**
+ * The original event format: polymorphic JSON with a "type" property naming the event.
+ */
+public class JsonEventCodec implements EventCodec {
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        // Write through the base type so the polymorphic "type" property is always included
+        this.eventWriter = objectMapper.writerFor(DomainEvent.class);
+        this.eventReader = objectMapper.readerFor(DomainEvent.class);
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(DomainEvent event) {
+        try {
+            return eventWriter.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new FTGOException("Failed to serialize event " + event.getEventId(), e);
+        }
+    }
+
+    @Override
+    public DomainEvent decode(byte[] payload) {
+        try {
+            return eventReader.readValue(payload);
+        } catch (IOException e) {
+            throw new FTGOException("Failed to deserialize event", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ftgo.common.events.dispatch;
+
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.codec.EventCodecs;
+import com.ftgo.common.exception.FTGOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Handles the events of one Kafka poll on several threads while keeping each aggregate's events in order.
+ *
+ * Events are striped by aggregate id, which is also their message key, so all events of one aggregate
+ * in a batch form one lane and are handled one after another, in offset order. Lanes run in parallel on
+ * the worker pool, one of them on the calling consumer thread. The call returns once every lane is
+ * done, so the binder only commits the batch's offsets after all of its events have been handled.
+ *
+ * If a handler throws, its lane stops there (later events of that aggregate must not overtake it),
+ * the other lanes finish, and the first failure is rethrown so the binder redelivers the batch.
+ * Events that had already been handled are seen again, so handlers must be idempotent, as they
+ * already must be for at-least-once delivery.
+ *
+ * Bind the consumer with consumer.batch-mode: true and byte[] payloads (see {@link #batchConsumer}).
+ */
+@Slf4j
+public class KeyOrderedEventDispatcher implements AutoCloseable {
+    private final EventCodecs eventCodecs;
+    private final int stripes;
+    private final ExecutorService workers;
+
+    /**
+     * @param workerThreads lanes per batch; 0 or less uses one per available processor
+     */
+    public KeyOrderedEventDispatcher(String name, int workerThreads, EventCodecs eventCodecs) {
+        this.eventCodecs = eventCodecs;
+        this.stripes = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        // The calling thread runs one lane itself
+        this.workers = Executors.newFixedThreadPool(Math.max(1, stripes - 1),
+                new CustomizableThreadFactory(name + "-dispatch-"));
+    }
+
+    /**
+     * Adapts a per-event handler to a batch-mode binding. Each record is decoded with the codec
+     * named by its contentType header.
+     */
+    public Consumer<Message<List<byte[]>>> batchConsumer(Consumer<DomainEvent> handler) {
+        return message -> dispatch(decode(message), handler);
+    }
+
+    /**
+     * Handles the events, in order per aggregate, and returns when all of them have been handled.
+     */
+    public void dispatch(List<DomainEvent> events, Consumer<DomainEvent> handler) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (stripes == 1 || events.size() == 1) {
+            runLane(events, handler);
+            return;
+        }
+
+        List<List<DomainEvent>> lanes = stripe(events);
+        List<CompletableFuture<Void>> running = new ArrayList<>(lanes.size());
+        for (int i = 1; i < lanes.size(); i++) {
+            List<DomainEvent> lane = lanes.get(i);
+            running.add(CompletableFuture.runAsync(() -> runLane(lane, handler), workers));
+        }
+
+        RuntimeException failure = null;
+        try {
+            runLane(lanes.get(0), handler);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (CompletableFuture<Void> lane : running) {
+            try {
+                lane.get();
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                        ? runtime : new FTGOException("Event handler failed", e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FTGOException("Interrupted while dispatching events", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        log.debug("Dispatched {} events on {} lanes", events.size(), lanes.size());
+    }
+
+    /**
+     * Splits the events into non-empty lanes by aggregate id, keeping their order within each lane.
+     * Events without an aggregate id share one lane.
+     */
+    private List<List<DomainEvent>> stripe(List<DomainEvent> events) {
+        @SuppressWarnings("unchecked")
+        List<DomainEvent>[] byStripe = new List[stripes];
+        List<List<DomainEvent>> lanes = new ArrayList<>(stripes);
+        for (DomainEvent event : events) {
+            String key = event.getAggregateId();
+            int stripe = key == null ? 0 : Math.floorMod(spread(key.hashCode()), stripes);
+            if (byStripe[stripe] == null) {
+                byStripe[stripe] = new ArrayList<>();
+                lanes.add(byStripe[stripe]);
+            }
+            byStripe[stripe].add(event);
+        }
+        return lanes;
+    }
+
+    private static void runLane(List<DomainEvent> lane, Consumer<DomainEvent> handler) {
+        for (DomainEvent event : lane) {
+            handler.accept(event);
+        }
+    }
+
+    private List<DomainEvent> decode(Message<List<byte[]>> message) {
+        List<byte[]> payloads = message.getPayload();
+        List<?> recordHeaders = message.getHeaders().get(KafkaHeaders.BATCH_CONVERTED_HEADERS, List.class);
+        List<DomainEvent> events = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            Object headers = recordHeaders != null && i < recordHeaders.size() ? recordHeaders.get(i) : null;
+            Object contentType = headers instanceof Map<?, ?> map ? map.get(MessageHeaders.CONTENT_TYPE) : null;
+            events.add(eventCodecs.decode(contentType(contentType), payloads.get(i)));
+        }
+        return events;
+    }
+
+    private static String contentType(Object header) {
+        if (header == null) {
+            return null;
+        }
+        String value = header instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : header.toString();
+        MimeType mimeType = MimeType.valueOf(value);
+        // Drop parameters such as charset
+        return mimeType.getType() + "/" + mimeType.getSubtype();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ftgo.common.outbox;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables the transactional outbox for a service.
+ * Domain events are written to the service's outbox_messages table in the same
+ * transaction as the aggregate and relayed to Kafka in batches by {@link OutboxRelay}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(OutboxConfiguration.class)
+public @interface EnableTransactionalOutbox {
+}
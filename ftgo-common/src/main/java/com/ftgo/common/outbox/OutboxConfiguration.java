@@ -0,0 +1,63 @@
+package com.ftgo.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.events.codec.EventCodecConfiguration;
+import com.ftgo.common.events.codec.EventCodecs;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires the transactional outbox. Imported by {@link EnableTransactionalOutbox}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+@Import(EventCodecConfiguration.class)
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public TransactionalOutbox transactionalOutbox(OutboxRepository outboxRepository, EventCodecs eventCodecs,
+                                                   ObjectMapper objectMapper) {
+        return new TransactionalOutbox(outboxRepository, eventCodecs, objectMapper);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(OutboxProperties properties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, properties.getLingerMs());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxProperties properties) {
+        return new OutboxRelay(outboxRepository, outboxKafkaTemplate,
+                new TransactionTemplate(transactionManager), properties);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ftgo.common.outbox;
+
+/**
+ * A domain event waiting in the outbox to be relayed to Kafka.
+ * The payload is encoded in the format named by contentType, which is sent along as the message's contentType header.
+ * The key is the event's aggregate id, so all events of one aggregate land on the same partition, in order.
+ */
+public record OutboxMessage(long id, String topic, String key, String eventType, String contentType, byte[] payload) {}
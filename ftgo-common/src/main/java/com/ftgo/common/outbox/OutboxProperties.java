@@ -0,0 +1,41 @@
+package com.ftgo.common.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the transactional outbox relay.
+ */
+@ConfigurationProperties(prefix = "ftgo.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    /**
+     * Kafka brokers the relay publishes to.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Maximum number of outbox rows claimed and sent per relay transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay between relay runs when the outbox has been drained.
+     * Read by the scheduler through ftgo.outbox.poll-interval-ms.
+     */
+    private long pollIntervalMs = 100;
+
+    /**
+     * Maximum time to wait for broker acknowledgements of one batch.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Producer linger time; lets the Kafka client pipeline a batch into few requests.
+     */
+    private int lingerMs = 5;
+}
@@ -0,0 +1,115 @@
+package com.ftgo.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.DefaultKafkaHeaderMapper;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox to Kafka.
+ * Each run claims a batch of rows, sends them all without waiting in between so the
+ * producer can pipeline them, then deletes the rows the broker acknowledged.
+ * Unacknowledged rows stay in the outbox and are retried on the next run (at-least-once).
+ * Each message carries a contentType header naming the format its payload was encoded in, and is keyed
+ * by its aggregate id.
+ *
+ * One aggregate's events are relayed in the order they were appended: batches are claimed in id order
+ * under an advisory lock, so only one replica relays at a time and the others skip the run, and once a
+ * message fails, the later messages with its key are kept too and resent after it. Those the broker
+ * had already taken are then delivered again after the failed one, so the last copies of a key's
+ * events are in order and consumers must be idempotent.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    // Headers in the encoding Spring Cloud Stream consumers map back to a String contentType
+    private final DefaultKafkaHeaderMapper headerMapper = new DefaultKafkaHeaderMapper();
+    private final Map<String, Header[]> headersByContentType = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${ftgo.outbox.poll-interval-ms:100}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed >= properties.getBatchSize());
+    }
+
+    /**
+     * Relays one batch and returns the number of messages sent, or 0 if another replica is relaying
+     * or the batch was only partially acknowledged, so the caller stops draining.
+     */
+    private int relayBatch() {
+        if (!outboxRepository.tryLockRelay()) {
+            return 0;
+        }
+        List<OutboxMessage> batch = outboxRepository.claimBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(kafkaTemplate.send(new ProducerRecord<>(message.topic(), null, message.key(), message.payload(),
+                    new RecordHeaders(headers(message.contentType())))));
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        // Keys with an unacknowledged message: their later messages must not be deleted before it is sent
+        Set<String> failedKeys = new HashSet<>();
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!failedKeys.contains(message.key())) {
+                    acknowledged.add(message.id());
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                sends.get(i).cancel(false);
+                if (message.key() != null) {
+                    failedKeys.add(message.key());
+                }
+                log.warn("Failed to relay outbox message: {} ({}) to topic: {}, will retry",
+                        message.id(), message.eventType(), message.topic(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        outboxRepository.deleteAll(acknowledged);
+        log.debug("Relayed {} of {} outbox messages", acknowledged.size(), batch.size());
+        return acknowledged.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private Header[] headers(String contentType) {
+        return headersByContentType.computeIfAbsent(contentType, type -> {
+            RecordHeaders headers = new RecordHeaders();
+            headerMapper.fromHeaders(new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, type)), headers);
+            return headers.toArray();
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.ftgo.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JDBC access to the outbox_messages table.
+ * Uses the same DataSource as JPA so writes join the caller's transaction.
+ */
+@RequiredArgsConstructor
+public class OutboxRepository {
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_messages (topic, message_key, event_type, content_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CLAIM_SQL =
+        "SELECT id, topic, message_key, event_type, content_type, payload FROM outbox_messages " +
+        "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM outbox_messages WHERE id = ?";
+    // Transaction-scoped advisory lock held by the replica relaying this outbox; any constant works as
+    // long as every relay of one database uses the same
+    private static final String LOCK_RELAY_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('outbox_messages'))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void save(String topic, String key, String eventType, String contentType, byte[] payload) {
+        jdbcTemplate.update(INSERT_SQL, topic, key, eventType, contentType, payload, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Inserts several messages for one topic as a single JDBC batch.
+     * Ids are ignored; the database assigns them in insertion order.
+     */
+    public void saveAll(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.topic());
+            ps.setString(2, message.key());
+            ps.setString(3, message.eventType());
+            ps.setString(4, message.contentType());
+            ps.setBytes(5, message.payload());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    /**
+     * Makes the calling transaction the only relay of this outbox until it ends.
+     *
+     * @return false if another replica holds the lock
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_RELAY_SQL, Boolean.class));
+    }
+
+    /**
+     * Locks the oldest unsent messages. Rows locked by another transaction are skipped.
+     */
+    public List<OutboxMessage> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL,
+            (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"),
+                rs.getString("topic"),
+                rs.getString("message_key"),
+                rs.getString("event_type"),
+                rs.getString("content_type"),
+                rs.getBytes("payload")),
+            limit);
+    }
+
+    public void deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+}
@@ -0,0 +1,71 @@
+package com.ftgo.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.codec.EventCodecs;
+import com.ftgo.common.events.codec.EventCodecs.EncodedEvent;
+import com.ftgo.common.events.codec.JsonEventCodec;
+import com.ftgo.common.exception.FTGOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends domain events to the outbox as part of the caller's transaction.
+ * The event only becomes visible to the relay if that transaction commits,
+ * and the caller never waits on the broker.
+ * Events are keyed by their aggregate id, so consumers see each aggregate's events in the order they were appended.
+ */
+@Slf4j
+public class TransactionalOutbox {
+    private final OutboxRepository outboxRepository;
+    private final EventCodecs eventCodecs;
+    private final ObjectMapper objectMapper;
+
+    public TransactionalOutbox(OutboxRepository outboxRepository, EventCodecs eventCodecs, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.eventCodecs = eventCodecs;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, DomainEvent event) {
+        EncodedEvent encoded = eventCodecs.encode(event);
+        outboxRepository.save(topic, event.getAggregateId(), event.getClass().getSimpleName(), encoded.contentType(), encoded.payload());
+        log.debug("Appended event: {} with id: {} to outbox for topic: {}",
+                event.getClass().getSimpleName(), event.getEventId(), topic);
+    }
+
+    /**
+     * Appends several events in one batched insert, preserving their order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String topic, List<? extends DomainEvent> events) {
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            EncodedEvent encoded = eventCodecs.encode(event);
+            messages.add(new OutboxMessage(0, topic, event.getAggregateId(), event.getClass().getSimpleName(), encoded.contentType(), encoded.payload()));
+        }
+        outboxRepository.saveAll(messages);
+        log.debug("Appended {} events to outbox for topic: {}", messages.size(), topic);
+    }
+
+    /**
+     * Appends a message that is not a domain event, such as a saga reply, as JSON with the given key.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendMessage(String topic, String key, Object message) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new FTGOException("Failed to serialize " + message.getClass().getSimpleName(), e);
+        }
+        outboxRepository.save(topic, key, message.getClass().getSimpleName(), JsonEventCodec.CONTENT_TYPE, payload);
+        log.debug("Appended message: {} to outbox for topic: {}", message.getClass().getSimpleName(), topic);
+    }
+}
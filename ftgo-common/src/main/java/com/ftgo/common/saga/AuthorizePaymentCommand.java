@@ -0,0 +1,26 @@
+package com.ftgo.common.saga;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Asks accounting-service to charge an order to the customer's payment method on file.
+ * Replies with the payment id, or a failure if the payment was declined.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuthorizePaymentCommand extends SagaCommand {
+    private String orderId;
+    private String customerId;
+    private String amount;
+    private String currency;
+
+    public AuthorizePaymentCommand(String orderId, String customerId, String amount, String currency) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.amount = amount;
+        this.currency = currency;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ftgo.common.saga;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Asks kitchen-service to create the ticket of an order. Replies with the ticket id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CreateTicketCommand extends SagaCommand {
+    private String orderId;
+    private String restaurantId;
+    private List<LineItem> lineItems;
+    private String readyBy;
+
+    public CreateTicketCommand(String orderId, String restaurantId, List<LineItem> lineItems, String readyBy) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.lineItems = lineItems;
+        this.readyBy = readyBy;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class LineItem {
+        private String menuItemId;
+        private String name;
+        private int quantity;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ftgo.common.saga;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A command sent by a saga orchestrator to a participant service over Kafka.
+ *
+ * The participant handles it and appends a {@link SagaReply} for the same saga and step to the
+ * replyTo topic. Commands can be delivered more than once, so participants must handle them idempotently.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = CreateTicketCommand.class, name = "CreateTicket"),
+    @JsonSubTypes.Type(value = AuthorizePaymentCommand.class, name = "AuthorizePayment")
+})
+@Getter
+@Setter
+public abstract class SagaCommand {
+    private String sagaInstanceId;
+    private String stepName;
+    private String replyTo;
+}
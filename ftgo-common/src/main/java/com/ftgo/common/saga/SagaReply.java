@@ -0,0 +1,39 @@
+package com.ftgo.common.saga;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The outcome of a {@link SagaCommand}, published to the command's replyTo topic keyed by saga instance id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class SagaReply {
+    private String sagaInstanceId;
+    private String stepName;
+    private boolean success;
+    private String result;
+    private String failureReason;
+
+    public static SagaReply success(SagaCommand command, String result) {
+        SagaReply reply = replyTo(command);
+        reply.success = true;
+        reply.result = result;
+        return reply;
+    }
+
+    public static SagaReply failure(SagaCommand command, String failureReason) {
+        SagaReply reply = replyTo(command);
+        reply.failureReason = failureReason;
+        return reply;
+    }
+
+    private static SagaReply replyTo(SagaCommand command) {
+        SagaReply reply = new SagaReply();
+        reply.sagaInstanceId = command.getSagaInstanceId();
+        reply.stepName = command.getStepName();
+        return reply;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ftgo.common.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total calculation with the long-based Money against the BigDecimal-based Money it replaced
+ * (kept below as {@link BigDecimalMoney}), per order total. Bytes allocated per order come from the
+ * gc profiler (gc.alloc.rate.norm):
+ *
+ * <pre>
+ * mvn -pl ftgo-common test -Pbenchmarks -Djmh.args="MoneyBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int LINE_ITEMS = 5;
+    private static final int ORDERS = 1_000;
+
+    private record LineItem(Money price, BigDecimalMoney legacyPrice, int quantity) {
+    }
+
+    private List<List<LineItem>> orders;
+
+    @Setup
+    public void createOrders() {
+        orders = new ArrayList<>(ORDERS);
+        for (int order = 0; order < ORDERS; order++) {
+            List<LineItem> lineItems = new ArrayList<>(LINE_ITEMS);
+            for (int item = 0; item < LINE_ITEMS; item++) {
+                String price = (order % 50) + "." + String.format("%02d", (order * 7 + item) % 100);
+                lineItems.add(new LineItem(Money.of(price, "USD"), BigDecimalMoney.of(price, "USD"), 1 + item % 3));
+            }
+            orders.add(lineItems);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long bigDecimalMoney() {
+        long checksum = 0;
+        for (List<LineItem> lineItems : orders) {
+            // As Order.calculateTotal did it before: multiply and add allocate on every line item
+            BigDecimalMoney total = lineItems.stream()
+                    .map(item -> item.legacyPrice().multiply(item.quantity()))
+                    .reduce(BigDecimalMoney.of("0", "USD"), BigDecimalMoney::add);
+            checksum += total.amount().unscaledValue().longValue();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long longMoney() {
+        long checksum = 0;
+        for (List<LineItem> lineItems : orders) {
+            checksum += Money.total("USD", lineItems, LineItem::price, LineItem::quantity).minorUnits();
+        }
+        return checksum;
+    }
+
+    /**
+     * The Money class before it moved to long minor units, as the baseline.
+     */
+    private record BigDecimalMoney(BigDecimal amount, String currency) {
+        BigDecimalMoney {
+            if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Amount must be non-negative");
+            }
+            if (currency == null || currency.isBlank()) {
+                throw new IllegalArgumentException("Currency must not be blank");
+            }
+        }
+
+        static BigDecimalMoney of(String amount, String currency) {
+            return new BigDecimalMoney(new BigDecimal(amount), currency);
+        }
+
+        BigDecimalMoney add(BigDecimalMoney other) {
+            if (!currency.equals(other.currency)) {
+                throw new IllegalArgumentException("Cannot add money with different currencies");
+            }
+            return new BigDecimalMoney(amount.add(other.amount), currency);
+        }
+
+        BigDecimalMoney multiply(int multiplier) {
+            return new BigDecimalMoney(amount.multiply(new BigDecimal(multiplier)), currency);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ftgo.common.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void holdsAmountsInHundredths() {
+        Money price = Money.of("15.99", "USD");
+
+        assertEquals(1599, price.minorUnits());
+        assertEquals(new BigDecimal("15.99"), price.getAmount());
+        assertEquals("USD", price.getCurrency());
+        assertEquals("15.99 USD", price.toString());
+    }
+
+    @Test
+    void comparesAmountsRegardlessOfTheirScale() {
+        assertEquals(Money.of("1.5", "USD"), Money.of(new BigDecimal("1.500"), "USD"));
+        assertEquals(Money.of("1.5", "USD").hashCode(), Money.of("1.50", "USD").hashCode());
+        assertNotEquals(Money.of("1.50", "USD"), Money.of("1.50", "EUR"));
+    }
+
+    @Test
+    void acceptsCurrencyCodesOutsideIso4217() {
+        Money points = Money.of("12.50", "LOYALTY_POINTS");
+        Money lowercase = Money.of("3", "usd");
+
+        assertEquals(new BigDecimal("12.50"), points.getAmount());
+        assertEquals("LOYALTY_POINTS", points.getCurrency());
+        assertEquals(Money.of("15.50", "LOYALTY_POINTS"), points.add(Money.of("3.00", "LOYALTY_POINTS")));
+        assertEquals(300, lowercase.minorUnits());
+    }
+
+    @Test
+    void keepsTheMinorUnitOfThreeDecimalCurrencies() {
+        Money dinars = Money.of("1.234", "KWD");
+
+        assertEquals(1234, dinars.minorUnits());
+        assertEquals(new BigDecimal("1.234"), dinars.getAmount());
+        assertEquals(Money.of("2.468", "KWD"), dinars.multiply(2));
+    }
+
+    @Test
+    void holdsHundredthsOfCurrenciesWithoutMinorUnit() {
+        assertEquals(new BigDecimal("1.50"), Money.of("1.5", "JPY").getAmount());
+        assertEquals(new BigDecimal("1500.00"), Money.of("1500", "JPY").getAmount());
+    }
+
+    @Test
+    void rejectsAmountsFinerThanTheHeldScale() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.234", "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.2345", "KWD"));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("-0.01", "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of((BigDecimal) null, "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00", " "));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00", null));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinorUnits(-1, "USD"));
+    }
+
+    @Test
+    void multipliesLikeTheBigDecimalMoney() {
+        Money price = Money.of("2.50", "USD");
+
+        assertEquals(Money.of("7.50", "USD"), price.multiply(3));
+        assertEquals(Money.zero("USD"), price.multiply(0));
+        // Only a negative result is rejected, so a negative multiplier of zero is allowed
+        assertEquals(Money.zero("USD"), Money.zero("USD").multiply(-2));
+        assertThrows(IllegalArgumentException.class, () -> price.multiply(-1));
+    }
+
+    @Test
+    void rejectsOverflow() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE, "USD");
+
+        assertThrows(IllegalArgumentException.class, () -> max.add(Money.ofMinorUnits(1, "USD")));
+        assertThrows(IllegalArgumentException.class, () -> max.multiply(2));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1e30", "USD"));
+    }
+
+    @Test
+    void rejectsMixingCurrencies() {
+        Money dollars = Money.of("1.00", "USD");
+        Money euros = Money.of("1.00", "EUR");
+
+        assertThrows(IllegalArgumentException.class, () -> dollars.add(euros));
+        assertThrows(IllegalArgumentException.class, () -> dollars.isGreaterThanOrEqual(euros));
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.total("USD", List.of(dollars, euros), price -> price, price -> 1));
+    }
+
+    @Test
+    void comparesAmounts() {
+        assertTrue(Money.of("2.00", "USD").isGreaterThanOrEqual(Money.of("2", "USD")));
+        assertTrue(Money.of("2.01", "USD").isGreaterThanOrEqual(Money.of("2", "USD")));
+        assertFalse(Money.of("1.99", "USD").isGreaterThanOrEqual(Money.of("2", "USD")));
+    }
+
+    @Test
+    void totalsPriceTimesQuantity() {
+        record Item(Money price, int quantity) {
+        }
+        List<Item> items = List.of(
+                new Item(Money.of("15.99", "USD"), 2),
+                new Item(Money.of("0.01", "USD"), 3),
+                new Item(Money.of("4.50", "USD"), 1));
+
+        assertEquals(Money.of("36.51", "USD"), Money.total("USD", items, Item::price, Item::quantity));
+        assertEquals(Money.zero("USD"), Money.total("USD", List.<Item>of(), Item::price, Item::quantity));
+    }
+
+    @Test
+    void loadsFromColumnsInEitherOrder() {
+        Money amountFirst = new Money();
+        amountFirst.setAmount(new BigDecimal("1.23"));
+        amountFirst.setCurrency("KWD");
+        Money currencyFirst = new Money();
+        currencyFirst.setCurrency("USD");
+        currencyFirst.setAmount(new BigDecimal("15.99"));
+
+        assertEquals(Money.of("1.230", "KWD"), amountFirst);
+        assertEquals(Money.of("15.99", "USD"), currencyFirst);
+    }
+}
@@ -0,0 +1,249 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.MenuUpdatedEvent;
+import com.ftgo.common.events.OrderCreatedEvent;
+import com.ftgo.common.exception.FTGOException;
+import com.ftgo.common.id.IdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryEventCodecTest {
+    // Configured like Spring Boot's ObjectMapper, which the codecs get in the services
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final EventSchemaRegistry schemaRegistry = new EventSchemaRegistry(objectMapper, null);
+    private final BinaryEventCodec codec = new BinaryEventCodec(objectMapper, schemaRegistry);
+    private final JsonEventCodec jsonCodec = new JsonEventCodec(objectMapper);
+
+    @Test
+    void roundTripsEventsWithUuidIds() {
+        OrderCreatedEvent event = orderCreated(IdGenerator.newId(), IdGenerator.newId(),
+                lineItem(IdGenerator.newId(), "Margherita", 2, "12.50"),
+                lineItem(IdGenerator.newId(), "Tiramisu", 1, "6.00"));
+
+        byte[] payload = codec.encode(event);
+        OrderCreatedEvent decoded = (OrderCreatedEvent) codec.decode(payload);
+
+        assertSameEvent(event, decoded);
+        assertEquals(event.getOccurredAt(), decoded.getOccurredAt());
+        assertEquals("12.50", decoded.getLineItems().get(0).getPrice());
+        // Ids as 16 bytes and prices as numbers make the payload much smaller than the JSON
+        assertTrue(payload.length * 2 < jsonCodec.encode(event).length,
+                payload.length + " bytes against " + jsonCodec.encode(event).length + " of JSON");
+    }
+
+    @Test
+    void keepsIdsThatAreNotCanonicalUuidsAsText() {
+        String upperCase = IdGenerator.newId().toUpperCase();
+        String notHex = "0190f3c4-6b2a-7c01-9e4f-2d8b1a6c3e5g";
+        String misplacedDash = "0190f3c46-b2a-7c01-9e4f-2d8b1a6c3e5f";
+        OrderCreatedEvent event = orderCreated("order-42", upperCase,
+                lineItem(notHex, "Soup", 1, "4.00"),
+                lineItem(misplacedDash, "Bread", 1, "1.00"),
+                lineItem("", "Water", 1, "0"));
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) codec.decode(codec.encode(event));
+
+        assertSameEvent(event, decoded);
+        assertEquals("order-42", decoded.getOrderId());
+        assertEquals(upperCase, decoded.getCustomerId());
+        assertEquals(notHex, decoded.getLineItems().get(0).getMenuItemId());
+        assertEquals(misplacedDash, decoded.getLineItems().get(1).getMenuItemId());
+        assertEquals("", decoded.getLineItems().get(2).getMenuItemId());
+    }
+
+    @Test
+    void decodesDecimalsToTheTextTheyWereWrittenAs() {
+        List<String> prices = List.of("15.99", "0", "0.00", "0.5", "-3", "-12.340", "-0", "-0.00", "007", "1e3", "1E-2",
+                "-1.5e+2", ".5", "5.", "-", "", "1.2.3", "12,50", "999999999999999999", "1234567890123456789",
+                "0.000000000000000001", "abc");
+        OrderCreatedEvent.OrderLineItem[] lineItems = prices.stream()
+                .map(price -> lineItem(IdGenerator.newId(), "Item", 1, price))
+                .toArray(OrderCreatedEvent.OrderLineItem[]::new);
+        OrderCreatedEvent event = orderCreated(IdGenerator.newId(), IdGenerator.newId(), lineItems);
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) codec.decode(codec.encode(event));
+
+        assertEquals(prices, decoded.getLineItems().stream().map(OrderCreatedEvent.OrderLineItem::getPrice).toList());
+    }
+
+    @Test
+    void leavesOutNullProperties() {
+        OrderCreatedEvent event = orderCreated(IdGenerator.newId(), null);
+        event.setLineItems(null);
+        event.setDeliveryAddress(null);
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) codec.decode(codec.encode(event));
+
+        assertSameEvent(event, decoded);
+        assertNull(decoded.getCustomerId());
+        assertNull(decoded.getLineItems());
+    }
+
+    @Test
+    void skipsTagsTheSchemaDoesNotHave() {
+        String eventId = IdGenerator.newId();
+        String restaurantId = IdGenerator.newId();
+        String menuItemId = IdGenerator.newId();
+        BinaryEventCodec.Output element = new BinaryEventCodec.Output(64);
+        writeUuid(element, 1, menuItemId);
+        writeUnknownFieldsOfEveryWireType(element);
+        writeString(element, 2, "Margherita");
+        element.writeKey(3, BinaryEventCodec.WIRE_DECIMAL);
+        element.writeSignedVarint(1250);
+        element.writeVarint(2);
+
+        BinaryEventCodec.Output payload = header("MenuUpdated");
+        writeUuid(payload, 1, eventId);
+        writeUnknownFieldsOfEveryWireType(payload);
+        writeUuid(payload, 5, restaurantId);
+        payload.writeKey(6, BinaryEventCodec.WIRE_LIST);
+        payload.writeVarint(1);
+        payload.writeVarint(element.size());
+        payload.writeBytes(element.toByteArray(), element.size());
+        writeUnknownFieldsOfEveryWireType(payload);
+
+        MenuUpdatedEvent decoded = (MenuUpdatedEvent) codec.decode(payload.toByteArray());
+
+        assertEquals(eventId, decoded.getEventId());
+        assertEquals(restaurantId, decoded.getRestaurantId());
+        assertEquals(1, decoded.getMenuItems().size());
+        assertEquals(menuItemId, decoded.getMenuItems().get(0).getMenuItemId());
+        assertEquals("Margherita", decoded.getMenuItems().get(0).getName());
+        assertEquals("12.50", decoded.getMenuItems().get(0).getPrice());
+    }
+
+    @Test
+    void rejectsPayloadsCutInsideAValue() {
+        BinaryEventCodec.Output uuid = header("MenuUpdated");
+        writeUuid(uuid, 1, IdGenerator.newId());
+        BinaryEventCodec.Output string = header("MenuUpdated");
+        writeString(string, 4, "Restaurant");
+        BinaryEventCodec.Output varint = header("MenuUpdated");
+        varint.writeKey(20, BinaryEventCodec.WIRE_VARINT);
+        varint.writeVarint(1L << 40);
+        BinaryEventCodec.Output list = header("MenuUpdated");
+        list.writeKey(6, BinaryEventCodec.WIRE_LIST);
+        list.writeVarint(2);
+        list.writeVarint(3);
+        writeString(list, 2, "x");
+
+        assertTruncated(new byte[0]);
+        assertTruncated(new byte[] {BinaryEventCodec.MARKER});
+        assertTruncated(Arrays.copyOf(uuid.toByteArray(), uuid.size() - 5));
+        assertTruncated(Arrays.copyOf(string.toByteArray(), string.size() - 1));
+        assertTruncated(Arrays.copyOf(varint.toByteArray(), varint.size() - 1));
+        // The second list element is missing
+        assertTruncated(list.toByteArray());
+    }
+
+    @Test
+    void failsOnlyWithFtgoExceptionOnAnyTruncation() {
+        OrderCreatedEvent event = orderCreated(IdGenerator.newId(), IdGenerator.newId(),
+                lineItem(IdGenerator.newId(), "Margherita", 2, "12.50"));
+        byte[] payload = codec.encode(event);
+
+        for (int length = 0; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            try {
+                // A cut between two top-level properties leaves a shorter, well-formed event
+                assertInstanceOf(OrderCreatedEvent.class, codec.decode(truncated));
+            } catch (FTGOException expected) {
+                // A cut inside a value
+            }
+        }
+    }
+
+    @Test
+    void rejectsPayloadsThatAreNotBinaryEvents() {
+        byte[] json = jsonCodec.encode(orderCreated(IdGenerator.newId(), IdGenerator.newId()));
+
+        assertThrows(FTGOException.class, () -> codec.decode(json));
+        BinaryEventCodec.Output unknownSchema = new BinaryEventCodec.Output(8);
+        unknownSchema.writeByte(BinaryEventCodec.MARKER);
+        unknownSchema.writeVarint(100_000);
+        assertThrows(FTGOException.class, () -> codec.decode(unknownSchema.toByteArray()));
+    }
+
+    private void assertSameEvent(DomainEvent expected, DomainEvent actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        // Both formats decode through the same ObjectMapper, so equal events have equal JSON
+        assertEquals(new String(jsonCodec.encode(expected), StandardCharsets.UTF_8),
+                new String(jsonCodec.encode(actual), StandardCharsets.UTF_8));
+    }
+
+    private void assertTruncated(byte[] payload) {
+        FTGOException e = assertThrows(FTGOException.class, () -> codec.decode(payload));
+        assertTrue(e.getMessage().contains("Truncated") || e.getMessage().contains("Not a binary event"), e.getMessage());
+    }
+
+    private BinaryEventCodec.Output header(String type) {
+        BinaryEventCodec.Output out = new BinaryEventCodec.Output(64);
+        out.writeByte(BinaryEventCodec.MARKER);
+        out.writeVarint(schemaRegistry.findLatest(type).orElseThrow().id());
+        return out;
+    }
+
+    private static void writeUnknownFieldsOfEveryWireType(BinaryEventCodec.Output out) {
+        out.writeKey(100, BinaryEventCodec.WIRE_VARINT);
+        out.writeSignedVarint(-123_456_789);
+        writeString(out, 101, "from a newer schema");
+        writeUuid(out, 102, IdGenerator.newId());
+        out.writeKey(103, BinaryEventCodec.WIRE_DECIMAL);
+        out.writeSignedVarint(-1599);
+        out.writeVarint(2);
+        out.writeKey(104, BinaryEventCodec.WIRE_INSTANT);
+        out.writeSignedVarint(1_700_000_000);
+        out.writeVarint(123_456_789);
+        out.writeKey(105, BinaryEventCodec.WIRE_LIST);
+        out.writeVarint(2);
+        for (int i = 0; i < 2; i++) {
+            BinaryEventCodec.Output element = new BinaryEventCodec.Output(16);
+            writeString(element, 1, "element " + i);
+            out.writeVarint(element.size());
+            out.writeBytes(element.toByteArray(), element.size());
+        }
+    }
+
+    private static void writeUuid(BinaryEventCodec.Output out, int tag, String id) {
+        UUID uuid = UUID.fromString(id);
+        out.writeKey(tag, BinaryEventCodec.WIRE_UUID);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void writeString(BinaryEventCodec.Output out, int tag, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeKey(tag, BinaryEventCodec.WIRE_STRING);
+        out.writeVarint(bytes.length);
+        out.writeBytes(bytes, bytes.length);
+    }
+
+    private static OrderCreatedEvent orderCreated(String orderId, String customerId,
+                                                  OrderCreatedEvent.OrderLineItem... lineItems) {
+        return new OrderCreatedEvent(orderId, customerId, IdGenerator.newId(), "APPROVAL_PENDING",
+                List.of(lineItems), "1 Main St", "ASAP");
+    }
+
+    private static OrderCreatedEvent.OrderLineItem lineItem(String menuItemId, String name, int quantity, String price) {
+        OrderCreatedEvent.OrderLineItem lineItem = new OrderCreatedEvent.OrderLineItem();
+        lineItem.setMenuItemId(menuItemId);
+        lineItem.setName(name);
+        lineItem.setQuantity(quantity);
+        lineItem.setPrice(price);
+        lineItem.setCurrency("USD");
+        return lineItem;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ftgo.common.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.MenuUpdatedEvent;
+import com.ftgo.common.events.OrderApprovedEvent;
+import com.ftgo.common.events.OrderCreatedEvent;
+import com.ftgo.common.id.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Encode and decode cost per event, binary format against JSON, for a small event, an order with a
+ * few line items and a large menu. Bytes allocated per event come from the gc profiler
+ * (gc.alloc.rate.norm); payload sizes are checked by BinaryEventCodecTest.
+ *
+ * <pre>
+ * mvn -pl ftgo-common test -Pbenchmarks -Djmh.args="EventCodecBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+    private static final int EVENTS = 1_000;
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    @Param({"OrderApproved", "OrderCreated", "MenuUpdated"})
+    private String event;
+
+    private EventCodec eventCodec;
+    private List<DomainEvent> events;
+    private List<byte[]> payloads;
+
+    @Setup
+    public void createEvents() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        eventCodec = switch (codec) {
+            case "json" -> new JsonEventCodec(objectMapper);
+            case "binary" -> new BinaryEventCodec(objectMapper, new EventSchemaRegistry(objectMapper, null));
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        };
+        Supplier<DomainEvent> newEvent = switch (event) {
+            case "OrderApproved" -> () -> new OrderApprovedEvent(IdGenerator.newId(), IdGenerator.newId(), IdGenerator.newId());
+            case "OrderCreated" -> () -> orderCreated(3);
+            case "MenuUpdated" -> () -> menuUpdated(50);
+            default -> throw new IllegalArgumentException("Unknown event: " + event);
+        };
+        events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(newEvent.get());
+        }
+        payloads = events.stream().map(eventCodec::encode).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long encode() {
+        long size = 0;
+        for (DomainEvent domainEvent : events) {
+            size += eventCodec.encode(domainEvent).length;
+        }
+        return size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long decode() {
+        long hash = 0;
+        for (byte[] payload : payloads) {
+            hash += eventCodec.decode(payload).getEventId().length();
+        }
+        return hash;
+    }
+
+    private static OrderCreatedEvent orderCreated(int items) {
+        List<OrderCreatedEvent.OrderLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            OrderCreatedEvent.OrderLineItem lineItem = new OrderCreatedEvent.OrderLineItem();
+            lineItem.setMenuItemId(IdGenerator.newId());
+            lineItem.setName("Menu item " + i);
+            lineItem.setQuantity(1 + i % 3);
+            lineItem.setPrice((5 + i) + ".99");
+            lineItem.setCurrency("USD");
+            lineItems.add(lineItem);
+        }
+        return new OrderCreatedEvent(IdGenerator.newId(), IdGenerator.newId(), IdGenerator.newId(),
+                "APPROVAL_PENDING", lineItems, "221B Baker Street, London", "ASAP");
+    }
+
+    private static MenuUpdatedEvent menuUpdated(int items) {
+        List<MenuUpdatedEvent.MenuItemInfo> menuItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            MenuUpdatedEvent.MenuItemInfo menuItem = new MenuUpdatedEvent.MenuItemInfo();
+            menuItem.setMenuItemId(IdGenerator.newId());
+            menuItem.setName("Menu item " + i);
+            menuItem.setPrice((5 + i) + ".50");
+            menuItem.setCurrency("USD");
+            menuItems.add(menuItem);
+        }
+        return new MenuUpdatedEvent(IdGenerator.newId(), menuItems);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ftgo.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation throughput with all threads generating at once, as request threads do: time-ordered
+ * ids against the random UUID strings used before. Primary key inserts are in {@link IdInsertBenchmark}.
+ *
+ * <pre>
+ * mvn -pl ftgo-common test -Pbenchmarks -Djmh.args="IdGeneratorBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String randomUuidString() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String newId() {
+        return IdGenerator.newId();
+    }
+
+    @Benchmark
+    public UUID newUuid() {
+        return IdGenerator.newUuid();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ftgo.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTest {
+
+    @Test
+    void idsOfOneThreadIncrease() {
+        // More than the 4096 ids a millisecond holds, so the sequence carries into the timestamp
+        UUID previous = IdGenerator.newUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = IdGenerator.newUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    next + " after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void idsAreVersion7WithTheCurrentTimeFirst() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(IdGenerator.newId());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue((uuid.getMostSignificantBits() >>> 16) >= before);
+    }
+}
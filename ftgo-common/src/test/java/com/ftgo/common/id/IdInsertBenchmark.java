@@ -0,0 +1,107 @@
+package com.ftgo.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary key inserts, in batches of 1000 rows committed one by one, for time-ordered ids in a
+ * native uuid column against random UUID strings in a VARCHAR(255) column as used before.
+ *
+ * The table starts empty and grows for the whole run, as random keys only get slower once the
+ * index no longer fits in memory. At the end of each run the primary key index size is printed
+ * per row. Needs a Postgres database; it creates and drops its own tables:
+ *
+ * <pre>
+ * mvn -pl ftgo-common test -Pbenchmarks -Djmh.args="IdInsertBenchmark" \
+ *     -Djmh.jvmArgs="-Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/ftgo_order \
+ *     -Dbenchmark.postgres.user=ftgo -Dbenchmark.postgres.password=ftgo123"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 6, time = 10)
+@Fork(1)
+public class IdInsertBenchmark {
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"varchar", "uuid"})
+    private String id;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.postgres.url", "jdbc:postgresql://localhost:5432/ftgo_order"),
+                System.getProperty("benchmark.postgres.user", "ftgo"),
+                System.getProperty("benchmark.postgres.password", "ftgo123"));
+        table = "id_benchmark_" + id;
+        String columnType = id.equals("uuid") ? "uuid" : "VARCHAR(255)";
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " (id " + columnType + " PRIMARY KEY, created_at TIMESTAMP NOT NULL DEFAULT now())");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id) VALUES (?)");
+    }
+
+    @TearDown
+    public void dropTable() throws SQLException {
+        insert.close();
+        connection.setAutoCommit(true);
+        try (Statement query = connection.createStatement();
+             ResultSet size = query.executeQuery(
+                     "SELECT pg_relation_size('" + table + "_pkey'), (SELECT count(*) FROM " + table + ")")) {
+            size.next();
+            long bytes = size.getLong(1);
+            long rows = size.getLong(2);
+            System.out.printf("%n%s primary key index: %,d KB for %,d rows, %.1f bytes per row%n",
+                    id, bytes / 1024, rows, (double) bytes / rows);
+        } finally {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("DROP TABLE " + table);
+            }
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (id.equals("uuid")) {
+                insert.setObject(1, IdGenerator.newUuid());
+            } else {
+                insert.setString(1, UUID.randomUUID().toString());
+            }
+            insert.addBatch();
+        }
+        int[] inserted = insert.executeBatch();
+        connection.commit();
+        return inserted;
+    }
+}
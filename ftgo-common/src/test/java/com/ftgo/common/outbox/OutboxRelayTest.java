@@ -0,0 +1,159 @@
+package com.ftgo.common.outbox;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxRelayTest {
+    private final FakeOutboxRepository outbox = new FakeOutboxRepository();
+    private final FakeKafkaTemplate kafka = new FakeKafkaTemplate();
+    private final OutboxProperties properties = new OutboxProperties();
+
+    @Test
+    void deletesEveryAcknowledgedMessage() {
+        outbox.add(1, "order-1");
+        outbox.add(2, "order-2");
+        outbox.add(3, "order-1");
+
+        relay().relay();
+
+        assertEquals(List.of(1L, 2L, 3L), kafka.sentIds);
+        assertTrue(outbox.rows.isEmpty());
+    }
+
+    @Test
+    void keepsLaterMessagesOfAKeyWhoseMessageFailed() {
+        outbox.add(1, "order-1");
+        outbox.add(2, "order-2");
+        outbox.add(3, "order-1");
+        outbox.add(4, "order-2");
+        kafka.failing.add(1L);
+
+        relay().relay();
+
+        // 3 was acknowledged, but deleting it would let it overtake 1 when 1 is resent
+        assertEquals(List.of(1L, 3L), outbox.ids());
+    }
+
+    @Test
+    void resendsAKeysMessagesInAppendOrderAfterAFailure() {
+        outbox.add(1, "order-1");
+        outbox.add(2, "order-1");
+        kafka.failing.add(1L);
+        OutboxRelay relay = relay();
+
+        relay.relay();
+        kafka.failing.clear();
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L, 1L, 2L), kafka.sentIds);
+        assertTrue(outbox.rows.isEmpty());
+    }
+
+    @Test
+    void cancelsSendsThatTimedOut() {
+        properties.setSendTimeout(Duration.ZERO);
+        outbox.add(1, "order-1");
+        kafka.pending.add(1L);
+
+        relay().relay();
+
+        assertTrue(kafka.futures.get(0).isCancelled());
+        assertEquals(List.of(1L), outbox.ids());
+    }
+
+    @Test
+    void skipsTheRunWhileAnotherReplicaRelays() {
+        outbox.add(1, "order-1");
+        outbox.locked = true;
+
+        relay().relay();
+
+        assertTrue(kafka.sentIds.isEmpty());
+        assertEquals(List.of(1L), outbox.ids());
+    }
+
+    private OutboxRelay relay() {
+        return new OutboxRelay(outbox, kafka, new DirectTransactionTemplate(), properties);
+    }
+
+    private static final class FakeOutboxRepository extends OutboxRepository {
+        private final List<OutboxMessage> rows = new ArrayList<>();
+        private boolean locked;
+
+        FakeOutboxRepository() {
+            super(null);
+        }
+
+        void add(long id, String key) {
+            // The payload carries the id, so the fake producer can tell the messages apart
+            rows.add(new OutboxMessage(id, "order-events", key, "OrderCreatedEvent", "application/json",
+                    Long.toString(id).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        List<Long> ids() {
+            return rows.stream().map(OutboxMessage::id).toList();
+        }
+
+        @Override
+        public boolean tryLockRelay() {
+            return !locked;
+        }
+
+        @Override
+        public List<OutboxMessage> claimBatch(int limit) {
+            return List.copyOf(rows.subList(0, Math.min(limit, rows.size())));
+        }
+
+        @Override
+        public void deleteAll(List<Long> ids) {
+            rows.removeIf(row -> ids.contains(row.id()));
+        }
+    }
+
+    private static final class FakeKafkaTemplate extends KafkaTemplate<String, byte[]> {
+        private final List<Long> sentIds = new ArrayList<>();
+        private final List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+        private final Set<Long> pending = new HashSet<>();
+
+        FakeKafkaTemplate() {
+            super(() -> null);
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+            long id = Long.parseLong(new String(record.value(), StandardCharsets.UTF_8));
+            sentIds.add(id);
+            CompletableFuture<SendResult<String, byte[]>> future = new CompletableFuture<>();
+            if (failing.contains(id)) {
+                future.completeExceptionally(new IllegalStateException("broker unavailable"));
+            } else if (!pending.contains(id)) {
+                future.complete(new SendResult<>(record, null));
+            }
+            futures.add(future);
+            return future;
+        }
+    }
+
+    private static final class DirectTransactionTemplate extends TransactionTemplate {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            return action.doInTransaction(null);
+        }
+    }
+}
@@ -4,13 +4,13 @@ import com.ftgo.common.domain.Address;
 import com.ftgo.common.events.CustomerCreatedEvent;
 import com.ftgo.common.events.DomainEvent;
 import com.ftgo.common.events.PaymentMethodAddedEvent;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
 @Table(name = "customers")
@@ -36,7 +36,7 @@ public class Customer {
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Customer(String name, String email, Address address) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.name = name;
         this.email = email;
         this.address = address;
@@ -1,10 +1,10 @@
 package com.ftgo.customerservice.domain;
 
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.UUID;
 
 @Entity
 @Table(name = "payment_methods")
@@ -25,7 +25,7 @@ public class PaymentMethod {
     private boolean active = true;
 
     public PaymentMethod(Customer customer, String paymentToken) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.customer = customer;
         this.paymentToken = paymentToken;
     }
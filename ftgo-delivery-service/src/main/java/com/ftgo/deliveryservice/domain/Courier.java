@@ -1,10 +1,10 @@
 package com.ftgo.deliveryservice.domain;
 
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.UUID;
 
 @Entity
 @Table(name = "couriers")
@@ -24,7 +24,7 @@ public class Courier {
     private boolean available = true;
 
     public Courier(String name, String phoneNumber) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.name = name;
         this.phoneNumber = phoneNumber;
     }
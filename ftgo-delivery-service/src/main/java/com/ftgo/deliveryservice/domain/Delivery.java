@@ -5,6 +5,7 @@ import com.ftgo.common.events.DeliveryDeliveredEvent;
 import com.ftgo.common.events.DeliveryPickedUpEvent;
 import com.ftgo.common.events.DomainEvent;
 import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,6 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
 @Table(name = "deliveries")
@@ -20,6 +20,7 @@ import java.util.UUID;
 @NoArgsConstructor
 public class Delivery {
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false)
@@ -51,7 +52,7 @@ public class Delivery {
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Delivery(String orderId, String courierId, String pickupAddress, String deliveryAddress, String pickupTime) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.orderId = orderId;
         this.courierId = courierId;
         this.state = DeliveryState.PENDING;
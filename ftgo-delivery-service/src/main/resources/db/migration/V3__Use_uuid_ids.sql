@@ -0,0 +1,3 @@
+-- Ids are UUIDv7 (time-ordered) since IdGenerator; store them as 16-byte uuid instead of text.
+-- Couriers are few and keep their text ids, so courier_id is unchanged.
+ALTER TABLE deliveries ALTER COLUMN id TYPE uuid USING id::uuid;
@@ -1,11 +1,13 @@
 package com.ftgo.kitchenservice;
 
+import com.ftgo.common.outbox.EnableTransactionalOutbox;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableTransactionalOutbox
 public class KitchenServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(KitchenServiceApplication.class, args);
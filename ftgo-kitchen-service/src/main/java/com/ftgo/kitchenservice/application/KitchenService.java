@@ -40,6 +40,16 @@ public class KitchenService {
         return ticket;
     }
 
+    /**
+     * Creates the ticket of an order unless the order already has one, in which case that ticket is returned.
+     * Saga commands can be delivered more than once; this keeps a redelivered one from creating a second ticket.
+     */
+    @Transactional
+    public Ticket createTicketForOrder(String orderId, String restaurantId, List<CreateTicketLineItemDTO> lineItemDTOs, String readyBy) {
+        return ticketRepository.findByOrderId(orderId)
+                .orElseGet(() -> createTicket(orderId, restaurantId, lineItemDTOs, readyBy));
+    }
+
     @Transactional(readOnly = true)
     public Ticket getTicket(String ticketId) {
         log.info("Getting ticket: {}", ticketId);
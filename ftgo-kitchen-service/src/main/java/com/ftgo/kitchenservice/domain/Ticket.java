@@ -6,6 +6,7 @@ import com.ftgo.common.events.TicketCreatedEvent;
 import com.ftgo.common.events.TicketPreparingEvent;
 import com.ftgo.common.events.TicketReadyEvent;
 import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,7 +14,6 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Entity
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 public class Ticket {
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false)
@@ -47,7 +48,7 @@ public class Ticket {
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Ticket(String orderId, String restaurantId, List<TicketLineItem> lineItems, String readyBy) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.orderId = orderId;
         this.restaurantId = restaurantId;
         this.state = TicketState.CREATE_PENDING;
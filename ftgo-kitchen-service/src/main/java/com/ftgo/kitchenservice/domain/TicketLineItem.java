@@ -1,5 +1,6 @@
 package com.ftgo.kitchenservice.domain;
 
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,11 +12,11 @@ import lombok.Setter;
 @NoArgsConstructor
 public class TicketLineItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "ticket_id", nullable = false)
+    @JoinColumn(name = "ticket_id", nullable = false, columnDefinition = "uuid")
     @Setter
     private Ticket ticket;
 
@@ -29,6 +30,7 @@ public class TicketLineItem {
     private int quantity;
 
     public TicketLineItem(String menuItemId, String name, int quantity) {
+        this.id = IdGenerator.newId();
         this.menuItemId = menuItemId;
         this.name = name;
         this.quantity = quantity;
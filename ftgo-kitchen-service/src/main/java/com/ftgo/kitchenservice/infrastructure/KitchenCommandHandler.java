@@ -0,0 +1,76 @@
+package com.ftgo.kitchenservice.infrastructure;
+
+import com.ftgo.common.exception.FTGOException;
+import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.common.outbox.TransactionalOutbox;
+import com.ftgo.common.saga.CreateTicketCommand;
+import com.ftgo.common.saga.SagaCommand;
+import com.ftgo.common.saga.SagaReply;
+import com.ftgo.kitchenservice.application.KitchenService;
+import com.ftgo.kitchenservice.domain.Ticket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Handles saga commands sent by Order Service's orchestrator on kitchen-commands.
+ * 
+ * The ticket and the reply to the saga are written in one transaction (the reply goes through the
+ * outbox), so a reply is sent if and only if the ticket was stored. A command that is rejected gets
+ * a failure reply; any other error leaves the command to be redelivered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KitchenCommandHandler {
+    private final KitchenService kitchenService;
+    private final TransactionalOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Bean
+    public Consumer<SagaCommand> kitchenCommands() {
+        return command -> {
+            if (command instanceof CreateTicketCommand createTicket) {
+                createTicket(createTicket);
+            } else {
+                log.warn("Ignoring unsupported saga command: {} for saga: {}",
+                        command.getClass().getSimpleName(), command.getSagaInstanceId());
+            }
+        };
+    }
+
+    private void createTicket(CreateTicketCommand command) {
+        log.info("Received CreateTicketCommand for order: {} (saga: {})", command.getOrderId(), command.getSagaInstanceId());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Ticket ticket = kitchenService.createTicketForOrder(command.getOrderId(), command.getRestaurantId(),
+                        lineItems(command), command.getReadyBy());
+                reply(command, SagaReply.success(command, ticket.getId()));
+            });
+        } catch (FTGOException e) {
+            log.warn("Rejected CreateTicketCommand for order: {}: {}", command.getOrderId(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> reply(command, SagaReply.failure(command, e.getMessage())));
+        }
+    }
+
+    private List<KitchenService.CreateTicketLineItemDTO> lineItems(CreateTicketCommand command) {
+        if (command.getLineItems() == null || command.getLineItems().isEmpty()) {
+            throw new InvalidOperationException("Line items cannot be empty");
+        }
+        if (command.getReadyBy() == null || command.getReadyBy().isBlank()) {
+            throw new InvalidOperationException("Ready by time is required");
+        }
+        return command.getLineItems().stream()
+                .map(item -> new KitchenService.CreateTicketLineItemDTO(item.getMenuItemId(), item.getName(), item.getQuantity()))
+                .toList();
+    }
+
+    private void reply(SagaCommand command, SagaReply reply) {
+        outbox.appendMessage(command.getReplyTo(), command.getSagaInstanceId(), reply);
+    }
+}
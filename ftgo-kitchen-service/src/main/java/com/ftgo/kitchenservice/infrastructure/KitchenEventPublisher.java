@@ -1,20 +1,22 @@
 package com.ftgo.kitchenservice.infrastructure;
 
 import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.outbox.TransactionalOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class KitchenEventPublisher {
-    private final StreamBridge streamBridge;
+    private static final String DESTINATION = "kitchen-events";
+
+    private final TransactionalOutbox outbox;
 
     public void publish(DomainEvent event) {
         log.info("Publishing event: {} with id: {}", event.getClass().getSimpleName(), event.getEventId());
-        streamBridge.send("kitchenEvents-out-0", event);
+        outbox.append(DESTINATION, event);
     }
 }
 
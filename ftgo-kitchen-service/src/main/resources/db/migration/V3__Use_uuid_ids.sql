@@ -0,0 +1,10 @@
+-- Ids are UUIDv7 (time-ordered) since IdGenerator; store them as 16-byte uuid instead of text.
+-- order_id stays text: it is order-service's id and is only matched, never joined.
+ALTER TABLE ticket_line_items DROP CONSTRAINT ticket_line_items_ticket_id_fkey;
+
+ALTER TABLE tickets ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE ticket_line_items ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE ticket_line_items ALTER COLUMN ticket_id TYPE uuid USING ticket_id::uuid;
+
+ALTER TABLE ticket_line_items ADD CONSTRAINT ticket_line_items_ticket_id_fkey
+    FOREIGN KEY (ticket_id) REFERENCES tickets(id) ON DELETE CASCADE;
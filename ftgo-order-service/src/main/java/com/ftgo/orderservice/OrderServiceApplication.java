@@ -1,7 +1,13 @@
 package com.ftgo.orderservice;
 
+import com.ftgo.common.outbox.EnableTransactionalOutbox;
+import com.ftgo.orderservice.infrastructure.http.DownstreamClientProperties;
+import com.ftgo.orderservice.saga.SagaCommandProperties;
+import com.ftgo.orderservice.saga.SagaExecutorProperties;
+import com.ftgo.orderservice.saga.SagaTimeoutProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
@@ -10,12 +16,18 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableTransactionalOutbox
 @EnableScheduling
+@EnableConfigurationProperties({SagaExecutorProperties.class, SagaTimeoutProperties.class, SagaCommandProperties.class,
+        DownstreamClientProperties.class})
 public class OrderServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(OrderServiceApplication.class, args);
     }
 
+    /**
+     * Base of the per-service clients in {@link com.ftgo.orderservice.infrastructure.http.DownstreamClients}.
+     */
     @Bean
     @LoadBalanced
     public WebClient.Builder webClientBuilder() {
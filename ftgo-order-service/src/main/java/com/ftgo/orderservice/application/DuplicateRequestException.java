@@ -0,0 +1,12 @@
+package com.ftgo.orderservice.application;
+
+import com.ftgo.common.exception.FTGOException;
+
+/**
+ * Thrown when a request reuses an Idempotency-Key that is already taken by another request.
+ */
+public class DuplicateRequestException extends FTGOException {
+    public DuplicateRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ftgo.orderservice.application;
+
+import com.ftgo.common.domain.Money;
+import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.orderservice.domain.OrderLineItem;
+import com.ftgo.orderservice.infrastructure.RestaurantMenuReplica;
+import com.ftgo.orderservice.infrastructure.RestaurantMenuReplica.MenuItemPrice;
+import com.ftgo.orderservice.infrastructure.RestaurantMenuReplica.RestaurantMenu;
+import com.ftgo.orderservice.infrastructure.RestaurantServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks order line items against the restaurant's menu: every item must be on the menu
+ * and priced as the menu says. Menus come from the local replica; restaurant-service is
+ * only called for a restaurant the replica has not seen yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPriceValidator {
+    private final RestaurantMenuReplica menuReplica;
+    private final RestaurantServiceClient restaurantServiceClient;
+
+    @Value("${ftgo.order.menu.fetch-timeout:2s}")
+    private Duration fetchTimeout;
+
+    /**
+     * @throws InvalidOperationException if the restaurant is unknown or an item is not on its menu at that price
+     * @throws RuntimeException if the menu is not replicated and restaurant-service cannot be reached
+     */
+    public void validate(String restaurantId, List<OrderLineItem> lineItems) {
+        check(menu(restaurantId), lineItems);
+    }
+
+    /**
+     * Like {@link #validate}, but lets the order through when the menu cannot be fetched;
+     * ValidateOrderStep checks it again before the order is approved.
+     *
+     * @return false if the menu was unavailable and nothing was checked
+     */
+    public boolean validateIfAvailable(String restaurantId, List<OrderLineItem> lineItems) {
+        RestaurantMenu menu;
+        try {
+            menu = menu(restaurantId);
+        } catch (InvalidOperationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Menu of restaurant {} unavailable, deferring price validation: {}", restaurantId, e.getMessage());
+            return false;
+        }
+        check(menu, lineItems);
+        return true;
+    }
+
+    private RestaurantMenu menu(String restaurantId) {
+        Optional<RestaurantMenu> replicated = menuReplica.find(restaurantId);
+        if (replicated.isPresent()) {
+            return replicated.get();
+        }
+        log.info("Menu of restaurant {} not replicated yet, fetching it", restaurantId);
+        try {
+            return menuReplica.install(restaurantId,
+                    restaurantServiceClient.getRestaurantMenu(restaurantId).block(fetchTimeout));
+        } catch (WebClientResponseException.NotFound e) {
+            throw new InvalidOperationException("Unknown restaurant: " + restaurantId);
+        }
+    }
+
+    private static void check(RestaurantMenu menu, List<OrderLineItem> lineItems) {
+        for (OrderLineItem lineItem : lineItems) {
+            MenuItemPrice menuItem = menu.findItem(lineItem.getMenuItemId())
+                    .orElseThrow(() -> new InvalidOperationException(
+                            "Menu item " + lineItem.getMenuItemId() + " is not on the menu of restaurant " + menu.restaurantId()));
+            Money price = lineItem.getPrice();
+            if (!price.equals(menuItem.price())) {
+                throw new InvalidOperationException("Price of menu item " + lineItem.getMenuItemId() + " is "
+                        + menuItem.price() + ", not " + price);
+            }
+        }
+    }
+}
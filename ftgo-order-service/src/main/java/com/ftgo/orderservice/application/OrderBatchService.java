@@ -0,0 +1,140 @@
+package com.ftgo.orderservice.application;
+
+import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.orderservice.application.dto.BatchOrderResult;
+import com.ftgo.orderservice.application.dto.CreateOrderBatchResponse;
+import com.ftgo.orderservice.application.dto.CreateOrderRequest;
+import com.ftgo.orderservice.domain.Order;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion for partner integrations.
+ *
+ * Each order is validated on its own, so an invalid order is rejected without failing the batch.
+ * Valid orders are stored in chunks, one transaction per chunk, with batched inserts; their sagas
+ * are only queued. {@link com.ftgo.orderservice.saga.SagaLauncher} claims no more of them than the
+ * saga worker pool has room for, so a large batch waits in the saga table rather than in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBatchService {
+    private final OrderService orderService;
+    private final Validator validator;
+
+    @Value("${ftgo.order.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${ftgo.order.batch.chunk-size:200}")
+    private int chunkSize;
+
+    public CreateOrderBatchResponse createOrders(List<CreateOrderRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidOperationException(
+                    "Batch of " + requests.size() + " orders exceeds the limit of " + maxBatchSize);
+        }
+        log.info("Creating batch of {} orders", requests.size());
+
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Order> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        for (int i = 0; i < requests.size(); i++) {
+            Order order = buildOrder(i, requests.get(i), results);
+            if (order == null) {
+                continue;
+            }
+            chunk.add(order);
+            chunkIndexes.add(i);
+            if (chunk.size() == chunkSize) {
+                storeChunk(chunk, chunkIndexes, results);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        storeChunk(chunk, chunkIndexes, results);
+
+        List<BatchOrderResult> resultList = Arrays.asList(results);
+        CreateOrderBatchResponse response = new CreateOrderBatchResponse(
+                count(resultList, BatchOrderResult.Status.ACCEPTED),
+                count(resultList, BatchOrderResult.Status.REJECTED),
+                count(resultList, BatchOrderResult.Status.FAILED),
+                resultList);
+        log.info("Batch done: {} accepted, {} rejected, {} failed",
+                response.getAccepted(), response.getRejected(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * Returns the order for a valid request, or records why it was rejected and returns null.
+     */
+    private Order buildOrder(int index, CreateOrderRequest request, BatchOrderResult[] results) {
+        if (request == null) {
+            results[index] = BatchOrderResult.rejected(index, "Order is required");
+            return null;
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            results[index] = BatchOrderResult.rejected(index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        var lineItemDTOs = request.getLineItems().stream()
+                .map(item -> new OrderService.CreateOrderLineItemDTO(
+                        item.getMenuItemId(),
+                        item.getName(),
+                        item.getQuantity(),
+                        item.getPrice(),
+                        item.getCurrency()
+                ))
+                .collect(Collectors.toList());
+
+        // Default delivery time to "ASAP" if not provided
+        String deliveryTime = request.getDeliveryTime();
+        if (deliveryTime == null || deliveryTime.isBlank()) {
+            deliveryTime = "ASAP";
+        }
+
+        try {
+            return orderService.newOrder(request.getCustomerId(), request.getRestaurantId(), lineItemDTOs,
+                    request.getDeliveryAddress(), deliveryTime);
+        } catch (IllegalArgumentException | InvalidOperationException e) {
+            // Unparseable or negative price, mixed currencies, item not on the menu at that price
+            results[index] = BatchOrderResult.rejected(index, e.getMessage());
+            return null;
+        }
+    }
+
+    private void storeChunk(List<Order> chunk, List<Integer> chunkIndexes, BatchOrderResult[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            orderService.createOrders(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunkIndexes.get(i)] = BatchOrderResult.accepted(chunkIndexes.get(i), chunk.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            // The chunk's transaction rolled back, so none of its orders exist
+            log.error("Failed to store chunk of {} orders", chunk.size(), e);
+            chunkIndexes.forEach(index -> results[index] = BatchOrderResult.failed(index, e.getMessage()));
+        }
+    }
+
+    private static int count(List<BatchOrderResult> results, BatchOrderResult.Status status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+}
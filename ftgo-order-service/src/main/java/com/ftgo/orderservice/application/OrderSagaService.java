@@ -1,7 +1,8 @@
 package com.ftgo.orderservice.application;
 
+import com.ftgo.common.id.IdGenerator;
 import com.ftgo.orderservice.saga.CreateOrderSagaData;
-import com.ftgo.orderservice.saga.IdempotencyHandler;
+import com.ftgo.orderservice.saga.LockResource;
 import com.ftgo.orderservice.saga.SagaManager;
 import com.ftgo.orderservice.saga.SemanticLockManager;
 import com.ftgo.orderservice.saga.model.SagaInstance;
@@ -10,8 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Service for managing order creation through sagas.
@@ -22,41 +23,67 @@ import java.util.UUID;
 @Slf4j
 public class OrderSagaService {
     private final SagaManager sagaManager;
-    private final IdempotencyHandler idempotencyHandler;
     private final SemanticLockManager semanticLockManager;
 
     @Transactional
     public SagaInstance createOrderSaga(CreateOrderSagaData sagaData) {
         log.info("Creating order saga for order: {}", sagaData.getOrderId());
-        
-        // Check idempotency
-        if (sagaData.getIdempotencyKey() != null) {
-            Optional<SagaInstance> existingSaga = idempotencyHandler.checkIdempotency(
-                    sagaData.getIdempotencyKey());
-            if (existingSaga.isPresent()) {
-                log.info("Saga already exists for idempotency key: {}", sagaData.getIdempotencyKey());
-                return existingSaga.get();
+        return startOrderSaga(sagaData, false);
+    }
+
+    /**
+     * Queues the saga instead of starting it; it is started by a background worker
+     * once the caller's transaction commits.
+     */
+    @Transactional
+    public SagaInstance enqueueOrderSaga(CreateOrderSagaData sagaData) {
+        log.info("Queueing order saga for order: {}", sagaData.getOrderId());
+        return startOrderSaga(sagaData, true);
+    }
+
+    /**
+     * Queues sagas for a batch of freshly created orders. The sagas get new idempotency keys,
+     * so there is nothing to deduplicate; locks are taken per saga and the rows are inserted
+     * in one batch.
+     */
+    @Transactional
+    public List<SagaInstance> enqueueOrderSagas(List<CreateOrderSagaData> sagaData) {
+        log.info("Queueing {} order sagas", sagaData.size());
+        List<CreateOrderSagaData> locked = new ArrayList<>(sagaData.size());
+        try {
+            for (CreateOrderSagaData data : sagaData) {
+                data.setIdempotencyKey(IdGenerator.newId());
+                if (!semanticLockManager.acquireLocks(data.getIdempotencyKey(),
+                        LockResource.of("Order", data.getOrderId()))) {
+                    throw new IllegalStateException("Order is locked by another saga: " + data.getOrderId());
+                }
+                locked.add(data);
             }
-        } else {
-            // Generate idempotency key if not provided
-            sagaData.setIdempotencyKey(UUID.randomUUID().toString());
+            return sagaManager.enqueueSagaInstances("CreateOrderSaga", sagaData);
+        } catch (Exception e) {
+            locked.forEach(data -> semanticLockManager.releaseAllLocks(data.getIdempotencyKey()));
+            throw e;
+        }
+    }
+
+    private SagaInstance startOrderSaga(CreateOrderSagaData sagaData, boolean queued) {
+        // Duplicate requests are turned away by IdempotencyStore before the order is created;
+        // the key only identifies the saga as the owner of its semantic locks here
+        if (sagaData.getIdempotencyKey() == null) {
+            sagaData.setIdempotencyKey(IdGenerator.newId());
         }
         
-        // Acquire semantic locks
-        if (!semanticLockManager.acquireLock("Order", sagaData.getOrderId(), 
-                sagaData.getIdempotencyKey())) {
+        // Acquire semantic locks (all or nothing, one round trip)
+        if (!semanticLockManager.acquireLocks(sagaData.getIdempotencyKey(),
+                LockResource.of("Order", sagaData.getOrderId()))) {
             throw new IllegalStateException("Order is locked by another saga");
         }
         
         try {
             // Create saga instance
-            SagaInstance sagaInstance = sagaManager.createSagaInstance(
-                    "CreateOrderSaga", sagaData);
-            
-            // Record idempotency key
-            idempotencyHandler.recordIdempotencyKey(sagaInstance, sagaData.getIdempotencyKey());
-            
-            return sagaInstance;
+            return queued
+                    ? sagaManager.enqueueSagaInstance("CreateOrderSaga", sagaData)
+                    : sagaManager.createSagaInstance("CreateOrderSaga", sagaData);
         } catch (Exception e) {
             // Release locks on failure
             semanticLockManager.releaseAllLocks(sagaData.getIdempotencyKey());
@@ -64,4 +91,3 @@ public class OrderSagaService {
         }
     }
 }
-
@@ -7,18 +7,24 @@ import com.ftgo.common.exception.InvalidOperationException;
 import com.ftgo.orderservice.domain.Order;
 import com.ftgo.orderservice.domain.OrderLineItem;
 import com.ftgo.orderservice.domain.OrderRepository;
+import com.ftgo.orderservice.domain.OrderSearch;
 import com.ftgo.orderservice.domain.OrderState;
+import com.ftgo.orderservice.infrastructure.IdempotencyStore;
+import com.ftgo.orderservice.infrastructure.OrderBatchWriter;
 import com.ftgo.orderservice.infrastructure.OrderEventPublisher;
 import com.ftgo.orderservice.infrastructure.RestaurantServiceClient;
 import com.ftgo.orderservice.application.OrderSagaService;
 import com.ftgo.orderservice.saga.CreateOrderSagaData;
 import com.ftgo.orderservice.saga.model.SagaInstance;
+import com.ftgo.orderservice.view.OrderView;
+import com.ftgo.orderservice.view.OrderViewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,36 +36,55 @@ public class OrderService {
     private final OrderEventPublisher eventPublisher;
     private final RestaurantServiceClient restaurantServiceClient;
     private final OrderSagaService orderSagaService;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderBatchWriter orderBatchWriter;
+    private final MenuPriceValidator menuPriceValidator;
+    private final OrderViewRepository orderViewRepository;
 
+    /**
+     * Stores an order built by {@link #newOrder} and starts its saga. The order is built and its
+     * prices checked before this transaction opens, so a menu fetch never holds a database connection.
+     */
     @Transactional
-    public Order createOrder(String customerId, String restaurantId, List<CreateOrderLineItemDTO> lineItemDTOs,
-                           String deliveryAddress, String deliveryTime, String idempotencyKey) {
-        log.info("Creating order for customer: {} at restaurant: {}", customerId, restaurantId);
+    public Order createOrder(Order order, String idempotencyKey) {
+        return placeOrder(order, idempotencyKey, false);
+    }
+
+    /**
+     * Accept-fast variant of {@link #createOrder}: persists the order and queues its saga in one
+     * transaction and returns without running any saga step; background workers drive the saga.
+     */
+    @Transactional
+    public Order acceptOrder(Order order, String idempotencyKey) {
+        return placeOrder(order, idempotencyKey, true);
+    }
+
+    private Order placeOrder(Order order, String idempotencyKey, boolean queueSaga) {
+        log.info("Creating order for customer: {} at restaurant: {}", order.getCustomerId(), order.getRestaurantId());
         
-        // Validate menu items and get prices
-        List<OrderLineItem> lineItems = lineItemDTOs.stream()
-                .map(dto -> {
-                    // In a real implementation, we would fetch menu item details from restaurant service
-                    // For now, we'll use the provided price
-                    Money price = Money.of(dto.price(), dto.currency());
-                    return new OrderLineItem(dto.menuItemId(), dto.name(), dto.quantity(), price);
-                })
-                .collect(Collectors.toList());
+        List<OrderLineItem> lineItems = order.getLineItems();
         
-        Order order = new Order(customerId, restaurantId, lineItems, deliveryAddress, deliveryTime);
+        // Reserve the idempotency key with the order; a concurrent retry fails here instead of creating a duplicate
+        if (idempotencyKey != null && !idempotencyKey.isBlank()
+                && !idempotencyStore.reserve(idempotencyKey, order.getId())) {
+            throw new DuplicateRequestException("Idempotency-Key already used: " + idempotencyKey);
+        }
         order = orderRepository.save(order);
         
         // Create saga data and start the saga (orchestration-based)
         CreateOrderSagaData sagaData = new CreateOrderSagaData();
         sagaData.setOrderId(order.getId());
-        sagaData.setCustomerId(customerId);
-        sagaData.setRestaurantId(restaurantId);
+        sagaData.setCustomerId(order.getCustomerId());
+        sagaData.setRestaurantId(order.getRestaurantId());
         sagaData.setIdempotencyKey(idempotencyKey);
         sagaData.setLineItems(lineItems);
         sagaData.setOrderTotal(order.getOrderTotal());
+        sagaData.setDeliveryTime(order.getDeliveryTime());
         // Set ticket and payment requests based on order data
         
-        SagaInstance sagaInstance = orderSagaService.createOrderSaga(sagaData);
+        SagaInstance sagaInstance = queueSaga
+                ? orderSagaService.enqueueOrderSaga(sagaData)
+                : orderSagaService.createOrderSaga(sagaData);
         sagaData.setSagaInstanceId(sagaInstance.getId());
         log.info("Created order saga with id: {} for order: {} (orchestration-based)", 
                 sagaInstance.getId(), order.getId());
@@ -70,13 +95,94 @@ public class OrderService {
         return order;
     }
 
+    /**
+     * Builds a pending order without storing it. Throws IllegalArgumentException for malformed prices
+     * and InvalidOperationException for items that are not on the restaurant's menu at that price.
+     * May fetch the menu from restaurant-service, so it must not be called inside a transaction.
+     */
+    public Order newOrder(String customerId, String restaurantId, List<CreateOrderLineItemDTO> lineItemDTOs,
+                          String deliveryAddress, String deliveryTime) {
+        // Validate menu items and get prices
+        List<OrderLineItem> lineItems = lineItemDTOs.stream()
+                .map(dto -> {
+                    Money price = Money.of(dto.price(), dto.currency());
+                    return new OrderLineItem(dto.menuItemId(), dto.name(), dto.quantity(), price);
+                })
+                .collect(Collectors.toList());
+        menuPriceValidator.validateIfAvailable(restaurantId, lineItems);
+        
+        return new Order(customerId, restaurantId, lineItems, deliveryAddress, deliveryTime);
+    }
+
+    /**
+     * Stores orders built by {@link #newOrder} and queues their sagas in one transaction,
+     * using one JDBC batch per table instead of several statements per order.
+     */
+    @Transactional
+    public void createOrders(List<Order> orders) {
+        log.info("Creating {} orders", orders.size());
+        orderBatchWriter.insertAll(orders);
+        
+        List<CreateOrderSagaData> sagaData = orders.stream()
+                .map(order -> {
+                    CreateOrderSagaData data = new CreateOrderSagaData();
+                    data.setOrderId(order.getId());
+                    data.setCustomerId(order.getCustomerId());
+                    data.setRestaurantId(order.getRestaurantId());
+                    data.setLineItems(order.getLineItems());
+                    data.setOrderTotal(order.getOrderTotal());
+                    data.setDeliveryTime(order.getDeliveryTime());
+                    return data;
+                })
+                .collect(Collectors.toList());
+        orderSagaService.enqueueOrderSagas(sagaData);
+        
+        List<DomainEvent> events = new ArrayList<>();
+        orders.forEach(order -> {
+            events.addAll(order.getDomainEvents());
+            order.clearDomainEvents();
+        });
+        eventPublisher.publishAll(events);
+        log.info("Created {} orders", orders.size());
+    }
+
     @Transactional(readOnly = true)
     public Order getOrder(String orderId) {
         log.info("Getting order: {}", orderId);
-        return orderRepository.findById(orderId)
+        return orderRepository.findWithLineItemsById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
     }
 
+    /**
+     * Where the order is across services, from the event-fed order view; one primary key lookup.
+     */
+    @Transactional(readOnly = true)
+    public OrderView getOrderView(String orderId) {
+        return orderViewRepository.findById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("No tracking information for order: " + orderId));
+    }
+
+    /**
+     * Lists orders newest first, one page at a time, with their line items loaded.
+     * 
+     * @param after cursor returned with the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public OrderPage findOrders(String customerId, String restaurantId, OrderState state, String after, int limit) {
+        OrderCursor cursor = after != null && !after.isBlank() ? OrderCursor.decode(after) : null;
+        OrderSearch search = new OrderSearch(customerId, restaurantId, state,
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null);
+        
+        // One extra order tells whether there is a next page
+        List<Order> orders = orderRepository.search(search, limit + 1);
+        if (orders.size() <= limit) {
+            return new OrderPage(orders, null);
+        }
+        List<Order> page = orders.subList(0, limit);
+        return new OrderPage(page, OrderCursor.after(page.get(limit - 1)).encode());
+    }
+
     @Transactional
     public Order approveOrder(String orderId) {
         log.info("Approving order: {}", orderId);
@@ -116,6 +222,8 @@ public class OrderService {
         order.clearDomainEvents();
     }
 
+    public record OrderPage(List<Order> orders, String nextCursor) {}
+
     public record CreateOrderLineItemDTO(String menuItemId, String name, int quantity, String price, String currency) {}
 }
 
@@ -0,0 +1,36 @@
+package com.ftgo.orderservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one order in a batch, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResult {
+    private int index;
+    private Status status;
+    private String orderId;
+    private String error;
+
+    public enum Status {
+        ACCEPTED,
+        REJECTED,
+        FAILED
+    }
+
+    public static BatchOrderResult accepted(int index, String orderId) {
+        return new BatchOrderResult(index, Status.ACCEPTED, orderId, null);
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        return new BatchOrderResult(index, Status.REJECTED, null, error);
+    }
+
+    public static BatchOrderResult failed(int index, String error) {
+        return new BatchOrderResult(index, Status.FAILED, null, error);
+    }
+}
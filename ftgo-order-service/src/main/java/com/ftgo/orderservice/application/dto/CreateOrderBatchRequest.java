@@ -0,0 +1,12 @@
+package com.ftgo.orderservice.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class CreateOrderBatchRequest {
+    // Items are validated one by one so that an invalid order only fails its own result
+    @NotEmpty(message = "Orders cannot be empty")
+    private List<CreateOrderRequest> orders;
+}
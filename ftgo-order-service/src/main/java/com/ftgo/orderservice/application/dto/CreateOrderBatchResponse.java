@@ -0,0 +1,16 @@
+package com.ftgo.orderservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrderBatchResponse {
+    private int accepted;
+    private int rejected;
+    private int failed;
+    private List<BatchOrderResult> results;
+}
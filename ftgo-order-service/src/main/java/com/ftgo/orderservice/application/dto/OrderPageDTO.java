@@ -0,0 +1,15 @@
+package com.ftgo.orderservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+    private List<OrderDTO> orders;
+    // Pass as "after" to get the next page; null on the last page
+    private String next;
+}
@@ -0,0 +1,26 @@
+package com.ftgo.orderservice.application.dto;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class OrderTrackingDTO {
+    private String orderId;
+    private String customerId;
+    private String restaurantId;
+    private String deliveryAddress;
+    private String deliveryTime;
+    private String orderState;
+    private String orderStateReason;
+    private String ticketId;
+    private String ticketState;
+    private String readyBy;
+    private String deliveryId;
+    private String deliveryState;
+    private String courierId;
+    private String pickedUpAt;
+    private String deliveredAt;
+    private String paymentId;
+    private String paymentState;
+    private Instant updatedAt;
+}
@@ -3,8 +3,10 @@ package com.ftgo.orderservice.application.mapper;
 import com.ftgo.common.domain.Money;
 import com.ftgo.orderservice.application.dto.OrderDTO;
 import com.ftgo.orderservice.application.dto.OrderLineItemDTO;
+import com.ftgo.orderservice.application.dto.OrderTrackingDTO;
 import com.ftgo.orderservice.domain.Order;
 import com.ftgo.orderservice.domain.OrderLineItem;
+import com.ftgo.orderservice.view.OrderView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -22,6 +24,8 @@ public interface OrderMapper {
     
     List<OrderLineItemDTO> toOrderLineItemDTOs(List<OrderLineItem> lineItems);
     
+    OrderTrackingDTO toDTO(OrderView orderView);
+    
     @org.mapstruct.Named("moneyToString")
     default String moneyToString(Money money) {
         return money != null ? money.getAmount().toString() : null;
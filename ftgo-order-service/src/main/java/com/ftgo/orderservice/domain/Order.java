@@ -7,22 +7,24 @@ import com.ftgo.common.events.OrderCancelledEvent;
 import com.ftgo.common.events.OrderCreatedEvent;
 import com.ftgo.common.events.OrderRejectedEvent;
 import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "orders")
 @Getter
 @NoArgsConstructor
-public class Order {
+public class Order implements Persistable<String> {
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false)
@@ -53,9 +55,16 @@ public class Order {
     @Transient
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
+    /**
+     * Ids are assigned in the constructor, so Spring Data cannot tell new orders apart by id;
+     * without this a new order is merged, costing a SELECT per order and line item before the insert.
+     */
+    @Transient
+    private boolean newOrder = true;
+
     public Order(String customerId, String restaurantId, List<OrderLineItem> lineItems,
                  String deliveryAddress, String deliveryTime) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.customerId = customerId;
         this.restaurantId = restaurantId;
         this.state = OrderState.PENDING;
@@ -112,9 +121,18 @@ public class Order {
     }
 
     private Money calculateTotal() {
-        return lineItems.stream()
-                .map(item -> item.getPrice().multiply(item.getQuantity()))
-                .reduce(Money.of("0", "USD"), Money::add);
+        return Money.total("USD", lineItems, OrderLineItem::getPrice, OrderLineItem::getQuantity);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newOrder;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newOrder = false;
     }
 
     public List<DomainEvent> getDomainEvents() {
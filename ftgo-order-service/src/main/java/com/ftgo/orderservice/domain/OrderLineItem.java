@@ -2,6 +2,7 @@ package com.ftgo.orderservice.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ftgo.common.domain.Money;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,11 +14,11 @@ import lombok.Setter;
 @NoArgsConstructor
 public class OrderLineItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumn(name = "order_id", nullable = false, columnDefinition = "uuid")
     @Setter
     @JsonIgnore  // Prevent circular reference during JSON serialization
     private Order order;
@@ -35,6 +36,7 @@ public class OrderLineItem {
     private Money price;
 
     public OrderLineItem(String menuItemId, String name, int quantity, Money price) {
+        this.id = IdGenerator.newId();
         this.menuItemId = menuItemId;
         this.name = name;
         this.quantity = quantity;
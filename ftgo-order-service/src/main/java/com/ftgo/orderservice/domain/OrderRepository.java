@@ -1,9 +1,12 @@
 package com.ftgo.orderservice.domain;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     Order save(Order order);
     Optional<Order> findById(String id);
+    Optional<Order> findWithLineItemsById(String id);
+    List<Order> search(OrderSearch search, int limit);
 }
 
@@ -0,0 +1,11 @@
+package com.ftgo.orderservice.domain;
+
+import java.time.Instant;
+
+/**
+ * Filters for listing orders newest first. Null filters match everything; when afterCreatedAt
+ * and afterId are set, only orders strictly after that position in (createdAt, id) order are returned.
+ */
+public record OrderSearch(String customerId, String restaurantId, OrderState state,
+                          Instant afterCreatedAt, String afterId) {
+}
@@ -0,0 +1,173 @@
+package com.ftgo.orderservice.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.exception.FTGOException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tiered store of responses to idempotent requests, keyed by the client's Idempotency-Key.
+ * 
+ * Lookups go through a bounded in-process cache, then Redis, then the idempotency_keys table,
+ * filling the faster tiers on the way back, so a client retrying after a timeout is usually
+ * answered from memory. The table is the source of truth: a key is reserved in the same
+ * transaction that creates the resource, which makes concurrent duplicates fail on the primary key.
+ * All tiers expire entries after the configured TTL.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+    private static final String REDIS_PREFIX = "idempotency:";
+    private static final String RESERVE_KEY =
+        "INSERT INTO idempotency_keys (idempotency_key, resource_id, created_at, expires_at) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (idempotency_key) DO UPDATE SET resource_id = EXCLUDED.resource_id, response = NULL, " +
+        "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+        "WHERE idempotency_keys.expires_at < EXCLUDED.created_at";
+    private static final String SAVE_RESPONSE =
+        "UPDATE idempotency_keys SET response = ? WHERE idempotency_key = ?";
+    private static final String FIND_ENTRY =
+        "SELECT resource_id, response FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > ?";
+    private static final String PURGE_EXPIRED =
+        "DELETE FROM idempotency_keys WHERE idempotency_key IN (" +
+        "  SELECT idempotency_key FROM idempotency_keys WHERE expires_at < ? LIMIT ?)";
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, String> localCache;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            RedisTemplate<String, String> redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${ftgo.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${ftgo.idempotency.local-cache-size:10000}") long localCacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the stored response for the key, if the original request has completed.
+     */
+    public <T> Optional<T> findResponse(String idempotencyKey, Class<T> responseType) {
+        String response = localCache.getIfPresent(idempotencyKey);
+        if (response == null) {
+            response = readRedis(idempotencyKey);
+            if (response == null) {
+                response = findEntry(idempotencyKey).map(IdempotencyEntry::response).orElse(null);
+                if (response != null) {
+                    writeRedis(idempotencyKey, response);
+                }
+            }
+            if (response != null) {
+                localCache.put(idempotencyKey, response);
+            }
+        }
+        return Optional.ofNullable(response).map(json -> deserialize(json, responseType));
+    }
+
+    /**
+     * Returns the id of the resource created under the key, even if its response was never stored.
+     */
+    public Optional<String> findResourceId(String idempotencyKey) {
+        return findEntry(idempotencyKey).map(IdempotencyEntry::resourceId);
+    }
+
+    /**
+     * Reserves the key for the resource being created. Must run in the transaction that creates the
+     * resource, so the reservation commits or rolls back with it.
+     * 
+     * @return false if the key is already in use by another request
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(String idempotencyKey, String resourceId) {
+        Instant now = Instant.now();
+        return jdbcTemplate.update(RESERVE_KEY, idempotencyKey, resourceId,
+                Timestamp.from(now), Timestamp.from(now.plus(ttl))) > 0;
+    }
+
+    /**
+     * Stores the response to replay for later requests with the same key.
+     */
+    @Transactional
+    public void saveResponse(String idempotencyKey, Object response) {
+        String json = serialize(response);
+        jdbcTemplate.update(SAVE_RESPONSE, json, idempotencyKey);
+        writeRedis(idempotencyKey, json);
+        localCache.put(idempotencyKey, json);
+    }
+
+    @Scheduled(fixedDelayString = "${ftgo.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.from(Instant.now());
+        int purged;
+        do {
+            purged = jdbcTemplate.update(PURGE_EXPIRED, now, PURGE_BATCH_SIZE);
+        } while (purged == PURGE_BATCH_SIZE);
+    }
+
+    private Optional<IdempotencyEntry> findEntry(String idempotencyKey) {
+        List<IdempotencyEntry> entries = jdbcTemplate.query(FIND_ENTRY,
+                (rs, rowNum) -> new IdempotencyEntry(rs.getString("resource_id"), rs.getString("response")),
+                idempotencyKey, Timestamp.from(Instant.now()));
+        return entries.stream().findFirst();
+    }
+
+    private String readRedis(String idempotencyKey) {
+        try {
+            return redisTemplate.opsForValue().get(REDIS_PREFIX + idempotencyKey);
+        } catch (RuntimeException e) {
+            log.warn("Redis unavailable for idempotency lookup, falling back to database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String idempotencyKey, String response) {
+        try {
+            redisTemplate.opsForValue().set(REDIS_PREFIX + idempotencyKey, response, ttl);
+        } catch (RuntimeException e) {
+            log.warn("Could not cache idempotent response in Redis: {}", e.getMessage());
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new FTGOException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new FTGOException("Failed to deserialize idempotent response", e);
+        }
+    }
+
+    private record IdempotencyEntry(String resourceId, String response) {
+    }
+}
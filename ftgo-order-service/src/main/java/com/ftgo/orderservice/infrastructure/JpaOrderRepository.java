@@ -2,10 +2,16 @@ package com.ftgo.orderservice.infrastructure;
 
 import com.ftgo.orderservice.domain.Order;
 import com.ftgo.orderservice.domain.OrderRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface JpaOrderRepository extends JpaRepository<Order, String>, OrderRepository {
+public interface JpaOrderRepository extends JpaRepository<Order, String>, OrderRepository, OrderSearchRepository {
+    @Override
+    @EntityGraph(attributePaths = "lineItems")
+    Optional<Order> findWithLineItemsById(String id);
 }
 
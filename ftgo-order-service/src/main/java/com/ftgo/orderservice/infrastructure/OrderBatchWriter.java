@@ -0,0 +1,64 @@
+package com.ftgo.orderservice.infrastructure;
+
+import com.ftgo.orderservice.domain.Order;
+import com.ftgo.orderservice.domain.OrderLineItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts new orders and their line items with two JDBC batches instead of one
+ * statement per row. Used for bulk ingestion, where the orders are never modified
+ * again in the same transaction, so they do not need to be managed by JPA.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBatchWriter {
+    private static final String INSERT_ORDER =
+        "INSERT INTO orders (id, customer_id, restaurant_id, state, amount, currency, " +
+        "delivery_address, delivery_time, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_ITEM =
+        "INSERT INTO order_line_items (id, order_id, menu_item_id, name, quantity, amount, currency) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+            ps.setString(1, order.getId());
+            ps.setString(2, order.getCustomerId());
+            ps.setString(3, order.getRestaurantId());
+            ps.setString(4, order.getState().name());
+            ps.setBigDecimal(5, order.getOrderTotal().getAmount());
+            ps.setString(6, order.getOrderTotal().getCurrency());
+            ps.setString(7, order.getDeliveryAddress());
+            ps.setString(8, order.getDeliveryTime());
+            ps.setTimestamp(9, Timestamp.from(order.getCreatedAt()));
+        });
+
+        List<OrderLineItem> lineItems = new ArrayList<>();
+        orders.forEach(order -> lineItems.addAll(order.getLineItems()));
+        jdbcTemplate.batchUpdate(INSERT_LINE_ITEM, lineItems, lineItems.size(), (ps, item) -> {
+            ps.setString(1, item.getId());
+            ps.setString(2, item.getOrder().getId());
+            ps.setString(3, item.getMenuItemId());
+            ps.setString(4, item.getName());
+            ps.setInt(5, item.getQuantity());
+            ps.setBigDecimal(6, item.getPrice().getAmount());
+            ps.setString(7, item.getPrice().getCurrency());
+        });
+        log.debug("Inserted {} orders with {} line items", orders.size(), lineItems.size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.ftgo.orderservice.infrastructure;
 
+import com.ftgo.common.events.DomainEvent;
 import com.ftgo.common.events.MenuUpdatedEvent;
 import com.ftgo.common.events.RestaurantCreatedEvent;
 import lombok.RequiredArgsConstructor;
@@ -13,21 +14,22 @@ import java.util.function.Consumer;
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventConsumer {
-    
-    @Bean
-    public Consumer<RestaurantCreatedEvent> restaurantCreated() {
-        return event -> {
-            log.info("Received RestaurantCreatedEvent: {}", event.getRestaurantId());
-            // Handle restaurant created event if needed
-        };
-    }
+    private final RestaurantMenuReplica menuReplica;
 
+    /**
+     * One consumer for the whole restaurant-events topic, so events of a restaurant are applied
+     * to the menu replica in the order they were published.
+     */
     @Bean
-    public Consumer<MenuUpdatedEvent> menuUpdated() {
+    public Consumer<DomainEvent> restaurantEvents() {
         return event -> {
-            log.info("Received MenuUpdatedEvent for restaurant: {}", event.getRestaurantId());
-            // Handle menu updated event if needed
+            if (event instanceof RestaurantCreatedEvent restaurantCreated) {
+                log.info("Received RestaurantCreatedEvent: {}", restaurantCreated.getRestaurantId());
+                menuReplica.apply(restaurantCreated);
+            } else if (event instanceof MenuUpdatedEvent menuUpdated) {
+                log.info("Received MenuUpdatedEvent for restaurant: {}", menuUpdated.getRestaurantId());
+                menuReplica.apply(menuUpdated);
+            }
         };
     }
 }
-
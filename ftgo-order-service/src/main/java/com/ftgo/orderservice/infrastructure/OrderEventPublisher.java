@@ -1,20 +1,29 @@
 package com.ftgo.orderservice.infrastructure;
 
 import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.outbox.TransactionalOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventPublisher {
-    private final StreamBridge streamBridge;
+    private static final String DESTINATION = "order-events";
+
+    private final TransactionalOutbox outbox;
 
     public void publish(DomainEvent event) {
         log.info("Publishing event: {} with id: {}", event.getClass().getSimpleName(), event.getEventId());
-        streamBridge.send("orderEvents-out-0", event);
+        outbox.append(DESTINATION, event);
+    }
+
+    public void publishAll(List<? extends DomainEvent> events) {
+        log.info("Publishing {} events", events.size());
+        outbox.appendAll(DESTINATION, events);
     }
 }
 
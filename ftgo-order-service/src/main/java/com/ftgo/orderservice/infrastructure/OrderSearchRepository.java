@@ -0,0 +1,13 @@
+package com.ftgo.orderservice.infrastructure;
+
+import com.ftgo.orderservice.domain.Order;
+import com.ftgo.orderservice.domain.OrderSearch;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated order listing, implemented by {@link OrderSearchRepositoryImpl}.
+ */
+public interface OrderSearchRepository {
+    List<Order> search(OrderSearch search, int limit);
+}
@@ -0,0 +1,78 @@
+package com.ftgo.orderservice.infrastructure;
+
+import com.ftgo.orderservice.domain.Order;
+import com.ftgo.orderservice.domain.OrderSearch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists orders newest first in two queries per page, whatever the page's position:
+ *
+ * 1. The page's ids come from a keyset range scan over one of the (filter, created_at, id)
+ *    indexes; only the filtered columns are read, and they are all in the index, so no table
+ *    rows are visited for orders that are not on the page.
+ * 2. The orders on the page and their line items are loaded together by id.
+ *
+ * Only the predicates for the filters that are set are added, so the planner can pick the
+ * index matching them instead of planning for "param IS NULL OR column = param".
+ */
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Order> search(OrderSearch search, int limit) {
+        List<String> ids = findPageIds(search, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Order> orders = new ArrayList<>(entityManager.createQuery(
+                        "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.lineItems WHERE o.id IN :ids", Order.class)
+                .setParameter("ids", ids)
+                .getResultList());
+
+        Map<String, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        orders.sort(Comparator.comparing(order -> position.get(order.getId())));
+        return orders;
+    }
+
+    private List<String> findPageIds(OrderSearch search, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT o.id FROM Order o WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (search.customerId() != null) {
+            jpql.append(" AND o.customerId = :customerId");
+            parameters.put("customerId", search.customerId());
+        }
+        if (search.restaurantId() != null) {
+            jpql.append(" AND o.restaurantId = :restaurantId");
+            parameters.put("restaurantId", search.restaurantId());
+        }
+        if (search.state() != null) {
+            jpql.append(" AND o.state = :state");
+            parameters.put("state", search.state());
+        }
+        if (search.afterCreatedAt() != null && search.afterId() != null) {
+            // Row value comparison, so the index range starts right after the cursor
+            jpql.append(" AND (o.createdAt, o.id) < (:afterCreatedAt, :afterId)");
+            parameters.put("afterCreatedAt", search.afterCreatedAt());
+            parameters.put("afterId", search.afterId());
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.id DESC");
+
+        TypedQuery<String> query = entityManager.createQuery(jpql.toString(), String.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
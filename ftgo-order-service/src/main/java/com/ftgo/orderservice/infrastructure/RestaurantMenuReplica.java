@@ -0,0 +1,112 @@
+package com.ftgo.orderservice.infrastructure;
+
+import com.ftgo.common.domain.Money;
+import com.ftgo.common.events.MenuUpdatedEvent;
+import com.ftgo.common.events.RestaurantCreatedEvent;
+import com.ftgo.orderservice.application.dto.RestaurantMenuDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory replica of every restaurant's menu, keyed by restaurant id and menu item id,
+ * built from restaurant-events so order validation needs no call to restaurant-service.
+ *
+ * Each menu is an immutable snapshot replaced as a whole, so readers never lock and never see
+ * a half-applied update. A snapshot's version is the occurredAt of the event that produced it;
+ * older events (redeliveries, events from another partition) are ignored. Menus fetched from
+ * restaurant-service on a cold miss carry no event version, so the next event always replaces them.
+ */
+@Component
+@Slf4j
+public class RestaurantMenuReplica {
+    private static final Instant FETCHED = Instant.EPOCH;
+
+    private final Map<String, RestaurantMenu> menus = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleEvents;
+
+    public RestaurantMenuReplica(MeterRegistry meterRegistry) {
+        Gauge.builder("order.menu.replica.restaurants", menus, Map::size)
+                .description("Restaurants whose menu is replicated locally")
+                .register(meterRegistry);
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.staleEvents = Counter.builder("order.menu.replica.stale.events")
+                .description("Restaurant events ignored because a newer menu was already applied")
+                .register(meterRegistry);
+    }
+
+    public Optional<RestaurantMenu> find(String restaurantId) {
+        RestaurantMenu menu = menus.get(restaurantId);
+        (menu != null ? hits : misses).increment();
+        return Optional.ofNullable(menu);
+    }
+
+    /**
+     * A new restaurant starts with an empty menu; a menu that is already known is kept.
+     */
+    public void apply(RestaurantCreatedEvent event) {
+        menus.putIfAbsent(event.getRestaurantId(),
+                new RestaurantMenu(event.getRestaurantId(), event.getOccurredAt(), Map.of()));
+    }
+
+    public void apply(MenuUpdatedEvent event) {
+        Map<String, MenuItemPrice> items = new HashMap<>();
+        if (event.getMenuItems() != null) {
+            event.getMenuItems().forEach(item -> items.put(item.getMenuItemId(),
+                    new MenuItemPrice(item.getName(), Money.of(item.getPrice(), item.getCurrency()))));
+        }
+        replace(new RestaurantMenu(event.getRestaurantId(), event.getOccurredAt(), Map.copyOf(items)));
+    }
+
+    /**
+     * Installs a menu fetched from restaurant-service unless an event-fed menu arrived meanwhile.
+     */
+    public RestaurantMenu install(String restaurantId, RestaurantMenuDTO menuDTO) {
+        Map<String, MenuItemPrice> items = new HashMap<>();
+        List<RestaurantMenuDTO.MenuItemDTO> menuItems = menuDTO.getMenuItems();
+        if (menuItems != null) {
+            menuItems.forEach(item -> items.put(item.getId(),
+                    new MenuItemPrice(item.getName(), Money.of(item.getPrice(), item.getCurrency()))));
+        }
+        return menus.computeIfAbsent(restaurantId, id -> new RestaurantMenu(id, FETCHED, Map.copyOf(items)));
+    }
+
+    private void replace(RestaurantMenu menu) {
+        menus.compute(menu.restaurantId(), (id, current) -> {
+            if (current != null && current.version().isAfter(menu.version())) {
+                log.debug("Ignoring menu of restaurant {} from {}; already at {}", id, menu.version(), current.version());
+                staleEvents.increment();
+                return current;
+            }
+            return menu;
+        });
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.menu.replica.lookups")
+                .description("Menu lookups served from the local replica")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record RestaurantMenu(String restaurantId, Instant version, Map<String, MenuItemPrice> items) {
+        public Optional<MenuItemPrice> findItem(String menuItemId) {
+            return Optional.ofNullable(items.get(menuItemId));
+        }
+    }
+
+    public record MenuItemPrice(String name, Money price) {
+    }
+}
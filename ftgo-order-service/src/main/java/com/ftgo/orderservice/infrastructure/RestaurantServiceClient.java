@@ -1,11 +1,11 @@
 package com.ftgo.orderservice.infrastructure;
 
 import com.ftgo.orderservice.application.dto.RestaurantMenuDTO;
+import com.ftgo.orderservice.infrastructure.http.DownstreamClients;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import java.util.function.Supplier;
 
@@ -13,17 +13,15 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 @Slf4j
 public class RestaurantServiceClient {
-    private final WebClient.Builder webClientBuilder;
+    private final DownstreamClients downstreamClients;
     private final CircuitBreakerFactory circuitBreakerFactory;
 
     public Mono<RestaurantMenuDTO> getRestaurantMenu(String restaurantId) {
         log.info("Fetching menu for restaurant: {}", restaurantId);
         
-        Supplier<Mono<RestaurantMenuDTO>> supplier = () -> webClientBuilder.build()
-                .get()
-                .uri("http://restaurant-service/restaurants/{restaurantId}/menu", restaurantId)
-                .retrieve()
-                .bodyToMono(RestaurantMenuDTO.class);
+        // A menu read is idempotent, so a slow one is hedged with a second request to another replica
+        Supplier<Mono<RestaurantMenuDTO>> supplier = () -> downstreamClients.hedger(DownstreamClients.RESTAURANT_SERVICE)
+                .execute(() -> fetchMenu(restaurantId));
         
         return circuitBreakerFactory.create("restaurant-service")
                 .run(supplier, throwable -> {
@@ -31,5 +29,20 @@ public class RestaurantServiceClient {
                     return Mono.error(throwable);
                 });
     }
+
+    private Mono<RestaurantMenuDTO> fetchMenu(String restaurantId) {
+        return downstreamClients.get(DownstreamClients.RESTAURANT_SERVICE)
+                .get()
+                .uri("/restaurants/{restaurantId}/menu", restaurantId)
+                .retrieve()
+                // restaurant-service returns the bare list of menu items
+                .bodyToFlux(RestaurantMenuDTO.MenuItemDTO.class)
+                .collectList()
+                .map(menuItems -> {
+                    RestaurantMenuDTO menu = new RestaurantMenuDTO();
+                    menu.setMenuItems(menuItems);
+                    return menu;
+                });
+    }
 }
 
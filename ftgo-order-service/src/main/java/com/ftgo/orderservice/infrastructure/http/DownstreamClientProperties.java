@@ -0,0 +1,94 @@
+package com.ftgo.orderservice.infrastructure.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools and timeouts of the HTTP clients for downstream services, keyed by service id.
+ * Concurrency limits are Resilience4j bulkheads of the same name (resilience4j.bulkhead.instances).
+ */
+@ConfigurationProperties(prefix = "ftgo.http")
+@Getter
+@Setter
+public class DownstreamClientProperties {
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Client {
+        /**
+         * Base URL of the service; defaults to http://{name}, resolved by the load balancer.
+         */
+        private String baseUrl;
+
+        /**
+         * Maximum open connections to each instance of the service.
+         */
+        private int maxConnections = 50;
+
+        /**
+         * Maximum requests waiting for a pooled connection before new ones are refused.
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        /**
+         * How long a request waits for a pooled connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Idle connections are closed after this long.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections are closed after this long, so new instances get traffic.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Maximum time from sending a request to receiving its response.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Offer HTTP/2 over cleartext (h2c upgrade), falling back to HTTP/1.1.
+         */
+        private boolean http2 = false;
+
+        private Hedge hedge = new Hedge();
+    }
+
+    /**
+     * Hedging of idempotent reads, see {@link RequestHedger}.
+     */
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile of the service after which a second request is sent.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Bounds of the hedge delay. The maximum is also used until min-samples calls have been seen.
+         */
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private long minSamples = 100;
+
+        /**
+         * Hedges allowed per request, i.e. the extra load hedging may add.
+         */
+        private double budget = 0.05;
+    }
+}
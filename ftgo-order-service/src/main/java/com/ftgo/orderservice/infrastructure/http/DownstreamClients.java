@@ -0,0 +1,167 @@
+package com.ftgo.orderservice.infrastructure.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One shared, load-balanced WebClient per downstream service.
+ *
+ * Each client has its own Reactor Netty connection pool, sized and timed out per service
+ * (ftgo.http.clients.{name}), so a slow kitchen-service cannot take the connections accounting-service
+ * needs, and a Resilience4j bulkhead of the same name that fails calls fast once the service has
+ * that many in flight. Clients are created on first use and reused; building a WebClient per call
+ * would lose keep-alive connections and the pool limits.
+ *
+ * Metrics per client:
+ * - reactor.netty.connection.provider.* (pool "downstream-{name}"): active, idle and pending connections
+ *   against the maximums, i.e. pool saturation
+ * - downstream.client.in.flight: requests sent and not yet answered
+ * - downstream.client.requests: latency histogram by method and status
+ * - resilience4j.bulkhead.*: free permits of the bulkhead
+ *
+ * Idempotent reads can additionally be hedged with {@link #hedger(String)}.
+ */
+@Component
+@Slf4j
+public class DownstreamClients {
+    public static final String RESTAURANT_SERVICE = "restaurant-service";
+    public static final String KITCHEN_SERVICE = "kitchen-service";
+    public static final String ACCOUNTING_SERVICE = "accounting-service";
+
+    private final WebClient.Builder loadBalancedBuilder;
+    private final DownstreamClientProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, WebClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, RequestHedger> hedgers = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    public DownstreamClients(WebClient.Builder loadBalancedBuilder,
+                             DownstreamClientProperties properties,
+                             BulkheadRegistry bulkheadRegistry,
+                             MeterRegistry meterRegistry) {
+        this.loadBalancedBuilder = loadBalancedBuilder;
+        this.properties = properties;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The client for a service; request URIs are relative to its base URL.
+     */
+    public WebClient get(String name) {
+        return clients.computeIfAbsent(name, this::create);
+    }
+
+    /**
+     * The hedger for idempotent reads from a service (ftgo.http.clients.{name}.hedge); it passes
+     * requests straight through unless hedging is enabled for the service.
+     */
+    public RequestHedger hedger(String name) {
+        return hedgers.computeIfAbsent(name, key -> new RequestHedger(key, settings(key).getHedge(), meterRegistry));
+    }
+
+    private DownstreamClientProperties.Client settings(String name) {
+        return properties.getClients().getOrDefault(name, new DownstreamClientProperties.Client());
+    }
+
+    private WebClient create(String name) {
+        DownstreamClientProperties.Client settings = settings(name);
+        String baseUrl = settings.getBaseUrl() != null ? settings.getBaseUrl() : "http://" + name;
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("downstream-" + name)
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(Duration.ofSeconds(30))
+                // Pool gauges go to the global registry, which Spring Boot's registry is part of
+                .metrics(true)
+                .build();
+        connectionProviders.put(name, connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .responseTimeout(settings.getResponseTimeout());
+        if (settings.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        log.info("Downstream client {}: {}, {} connections per instance{}", name, baseUrl,
+                settings.getMaxConnections(), settings.isHttp2() ? ", h2c" : "");
+        // The clone keeps the load balancer filter, which resolves the service id in the base URL
+        return loadBalancedBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(instrumentation(name, bulkheadRegistry.bulkhead(name)))
+                .build();
+    }
+
+    /**
+     * Applies the bulkhead and records in-flight requests and latency. Runs per subscription, so
+     * every retry of a call takes its own permit.
+     */
+    private ExchangeFilterFunction instrumentation(String name, Bulkhead bulkhead) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("downstream.client.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests to a downstream service awaiting their response")
+                .tag("client", name)
+                .register(meterRegistry);
+
+        return (request, next) -> Mono.defer(() -> {
+            if (!bulkhead.tryAcquirePermission()) {
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+            inFlight.incrementAndGet();
+            long startedAt = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(name, request, startedAt,
+                            response != null ? String.valueOf(response.statusCode().value()) : "NONE"))
+                    .doOnError(error -> record(name, request, startedAt, "IO_ERROR"))
+                    .doOnCancel(() -> record(name, request, startedAt, "CANCELLED"))
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        bulkhead.onComplete();
+                    });
+        });
+    }
+
+    private void record(String name, ClientRequest request, long startedAt, String status) {
+        Timer.builder("downstream.client.requests")
+                .description("Time from sending a request to a downstream service to its response")
+                .tag("client", name)
+                .tag("method", request.method().name())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+}
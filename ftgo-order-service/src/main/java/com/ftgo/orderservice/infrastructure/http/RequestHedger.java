@@ -0,0 +1,222 @@
+package com.ftgo.orderservice.infrastructure.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of a slow idempotent request and takes whichever answer arrives first.
+ *
+ * The hedge goes out once the first attempt has taken longer than the configured latency percentile
+ * of the service (ftgo.http.clients.{name}.hedge), as measured over the last minute of first attempts.
+ * The load balancer picks the next instance round-robin, so the hedge normally lands on another
+ * replica than the slow one. The first successful answer wins and the other attempt is cancelled,
+ * which closes its connection. An attempt that fails does not fail the call while the other one
+ * may still answer.
+ *
+ * Hedges are capped by a budget: every request earns {@code budget} of a hedge (at most
+ * {@value #MAX_BURST} saved up), so with 0.05 hedging adds at most 5% load, even when the whole
+ * service slows down and every request passes its percentile.
+ *
+ * Metrics: downstream.client.hedges (sent or throttled by the budget), downstream.client.hedge.wins
+ * (which attempt answered first once a hedge was sent) and downstream.client.hedge.latency, the first
+ * attempt latencies the delay is taken from.
+ */
+public class RequestHedger {
+    private static final long CREDIT = 1000;
+    private static final int MAX_BURST = 10;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final DownstreamClientProperties.Hedge settings;
+    private final Timer latency;
+    private final Counter sent;
+    private final Counter throttled;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+    private final long creditPerRequest;
+    private final AtomicLong credits = new AtomicLong();
+    private volatile long delayNanos;
+    private volatile long delayRefreshedAt;
+
+    public RequestHedger(String name, DownstreamClientProperties.Hedge settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.latency = Timer.builder("downstream.client.hedge.latency")
+                .description("Latency of first attempts of hedged requests")
+                .tag("client", name)
+                .publishPercentiles(settings.getPercentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.sent = hedges(name, "sent", meterRegistry);
+        this.throttled = hedges(name, "throttled", meterRegistry);
+        this.primaryWins = wins(name, "primary", meterRegistry);
+        this.hedgeWins = wins(name, "hedge", meterRegistry);
+        this.creditPerRequest = Math.round(settings.getBudget() * CREDIT);
+        this.delayNanos = settings.getMaxDelay().toNanos();
+        this.delayRefreshedAt = System.nanoTime();
+    }
+
+    /**
+     * Runs the request, hedged if enabled. The supplier must return a new, cold attempt on every call
+     * and may only be used for requests that are safe to send twice.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!settings.isEnabled()) {
+            return request.get();
+        }
+        return Mono.defer(() -> {
+            earnCredit();
+            Duration delay = Duration.ofNanos(hedgeDelay());
+            return Mono.create(sink -> new HedgedCall<>(request, sink).start(delay));
+        });
+    }
+
+    private long hedgeDelay() {
+        long now = System.nanoTime();
+        if (now - delayRefreshedAt < DELAY_REFRESH_NANOS) {
+            return delayNanos;
+        }
+        delayRefreshedAt = now;
+        long min = settings.getMinDelay().toNanos();
+        long max = settings.getMaxDelay().toNanos();
+        long delay = max;
+        if (latency.count() >= settings.getMinSamples()) {
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                double observed = value.value(TimeUnit.NANOSECONDS);
+                if (value.percentile() == settings.getPercentile() && observed > 0) {
+                    delay = Math.max(min, Math.min(max, (long) observed));
+                }
+            }
+        }
+        delayNanos = delay;
+        return delay;
+    }
+
+    private void earnCredit() {
+        credits.accumulateAndGet(creditPerRequest, (current, earned) -> Math.min(MAX_BURST * CREDIT, current + earned));
+    }
+
+    private boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < CREDIT) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - CREDIT));
+        return true;
+    }
+
+    private static Counter hedges(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("downstream.client.hedges")
+                .description("Hedge requests sent, or skipped because the hedge budget was used up")
+                .tag("client", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter wins(String name, String winner, MeterRegistry meterRegistry) {
+        return Counter.builder("downstream.client.hedge.wins")
+                .description("Hedged requests by the attempt that answered first")
+                .tag("client", name)
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One hedged call: the first attempt, maybe a hedge, and the sink that receives the winner.
+     * Everything that can race (answers, failures, the hedge timer) goes through the monitor.
+     */
+    private final class HedgedCall<T> {
+        private final Supplier<Mono<T>> request;
+        private final MonoSink<T> sink;
+        private final Disposable.Composite attempts = Disposables.composite();
+        private final long startedAt = System.nanoTime();
+        private boolean settled;
+        private boolean hedged;
+        private int running;
+
+        HedgedCall(Supplier<Mono<T>> request, MonoSink<T> sink) {
+            this.request = request;
+            this.sink = sink;
+            // Cancels whatever is still running once the call is answered or its subscriber cancels
+            sink.onDispose(attempts);
+        }
+
+        void start(Duration delay) {
+            synchronized (this) {
+                running++;
+            }
+            launch(false);
+            attempts.add(Mono.delay(delay).subscribe(tick -> hedge()));
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                if (!tryAcquireHedge()) {
+                    throttled.increment();
+                    return;
+                }
+                hedged = true;
+                running++;
+            }
+            sent.increment();
+            launch(true);
+        }
+
+        private void launch(boolean isHedge) {
+            Mono<T> attempt = request.get();
+            if (!isHedge) {
+                // Cancelled first attempts count with the time they had run, a lower bound of their latency
+                attempt = attempt.doFinally(signal -> latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+            }
+            attempts.add(attempt.subscribe(
+                    value -> succeeded(value, isHedge),
+                    error -> failed(error),
+                    () -> succeeded(null, isHedge)));
+        }
+
+        private void succeeded(T value, boolean isHedge) {
+            boolean countWin;
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                settled = true;
+                countWin = hedged;
+            }
+            if (countWin) {
+                (isHedge ? hedgeWins : primaryWins).increment();
+            }
+            if (value != null) {
+                sink.success(value);
+            } else {
+                sink.success();
+            }
+        }
+
+        private void failed(Throwable error) {
+            synchronized (this) {
+                running--;
+                // Wait for the other attempt if one is still running
+                if (settled || running > 0) {
+                    return;
+                }
+                settled = true;
+            }
+            sink.error(error);
+        }
+    }
+}
@@ -2,21 +2,34 @@ package com.ftgo.orderservice.presentation;
 
 import com.ftgo.common.exception.EntityNotFoundException;
 import com.ftgo.common.exception.InvalidOperationException;
+import com.ftgo.orderservice.application.DuplicateRequestException;
+import com.ftgo.orderservice.application.OrderBatchService;
 import com.ftgo.orderservice.application.OrderService;
+import com.ftgo.orderservice.application.dto.CreateOrderBatchRequest;
+import com.ftgo.orderservice.application.dto.CreateOrderBatchResponse;
 import com.ftgo.orderservice.application.dto.CreateOrderLineItemRequest;
 import com.ftgo.orderservice.application.dto.CreateOrderRequest;
 import com.ftgo.orderservice.application.dto.OrderDTO;
+import com.ftgo.orderservice.application.dto.OrderPageDTO;
+import com.ftgo.orderservice.application.dto.OrderTrackingDTO;
 import com.ftgo.orderservice.application.mapper.OrderMapper;
 import com.ftgo.orderservice.domain.Order;
+import com.ftgo.orderservice.domain.OrderState;
+import com.ftgo.orderservice.infrastructure.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,8 +38,19 @@ import java.util.stream.Collectors;
 @Slf4j
 @Tag(name = "Order", description = "Order management APIs")
 public class OrderController {
+    private static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
     private final OrderMapper orderMapper;
+    private final IdempotencyStore idempotencyStore;
+    
+    /**
+     * Accept-fast mode: POST /orders returns 202 once the order is stored and its saga queued.
+     */
+    @Value("${ftgo.order.async-acceptance:false}")
+    private boolean asyncAcceptance;
 
     @PostMapping
     @Operation(summary = "Create a new order")
@@ -35,6 +59,15 @@ public class OrderController {
             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Creating order for customer: {}", request.getCustomerId());
         
+        // Retried request: replay the stored response without touching the database
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            Optional<OrderDTO> previous = idempotencyStore.findResponse(idempotencyKey, OrderDTO.class);
+            if (previous.isPresent()) {
+                log.info("Replaying response for Idempotency-Key: {}", idempotencyKey);
+                return replay(previous.get());
+            }
+        }
+        
         var lineItemDTOs = request.getLineItems().stream()
                 .map(item -> new OrderService.CreateOrderLineItemDTO(
                         item.getMenuItemId(),
@@ -51,16 +84,53 @@ public class OrderController {
             deliveryTime = "ASAP";
         }
         
-        Order order = orderService.createOrder(
+        // Built and price-checked outside the transaction that stores it
+        Order order = orderService.newOrder(
                 request.getCustomerId(),
                 request.getRestaurantId(),
                 lineItemDTOs,
                 request.getDeliveryAddress(),
-                deliveryTime,
-                idempotencyKey
-        );
+                deliveryTime);
+        try {
+            order = asyncAcceptance
+                    ? orderService.acceptOrder(order, idempotencyKey)
+                    : orderService.createOrder(order, idempotencyKey);
+        } catch (DuplicateRequestException e) {
+            return replayDuplicate(idempotencyKey);
+        }
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderMapper.toDTO(order));
+        OrderDTO orderDTO = orderMapper.toDTO(order);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            idempotencyStore.saveResponse(idempotencyKey, orderDTO);
+        }
+        return respond(orderDTO).body(orderDTO);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk")
+    public ResponseEntity<CreateOrderBatchResponse> createOrders(@Valid @RequestBody CreateOrderBatchRequest request) {
+        log.info("Creating batch of {} orders", request.getOrders().size());
+        // Sagas are queued, so accepted orders are PENDING until background workers run their sagas
+        return ResponseEntity.accepted().body(orderBatchService.createOrders(request.getOrders()));
+    }
+
+    @GetMapping
+    @Operation(summary = "List orders, newest first")
+    public ResponseEntity<OrderPageDTO> listOrders(
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String restaurantId,
+            @RequestParam(required = false) OrderState state,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidOperationException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Listing orders for customer: {}, restaurant: {}, state: {}", customerId, restaurantId, state);
+        OrderService.OrderPage page = orderService.findOrders(customerId, restaurantId, state, after, limit);
+        List<OrderDTO> orders = page.orders().stream()
+                .map(orderMapper::toDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new OrderPageDTO(orders, page.nextCursor()));
     }
 
     @GetMapping("/{orderId}")
@@ -71,6 +141,13 @@ public class OrderController {
         return ResponseEntity.ok(orderMapper.toDTO(order));
     }
 
+    @GetMapping("/{orderId}/tracking")
+    @Operation(summary = "Track an order across kitchen, delivery and payment")
+    public ResponseEntity<OrderTrackingDTO> trackOrder(@PathVariable String orderId) {
+        log.info("Tracking order: {}", orderId);
+        return ResponseEntity.ok(orderMapper.toDTO(orderService.getOrderView(orderId)));
+    }
+
     @PutMapping("/{orderId}/cancel")
     @Operation(summary = "Cancel an order")
     public ResponseEntity<OrderDTO> cancelOrder(
@@ -81,6 +158,44 @@ public class OrderController {
         return ResponseEntity.ok(orderMapper.toDTO(order));
     }
 
+    /**
+     * A concurrent request with the same key won the reservation. Replay its response, rebuilding it
+     * from the order if it was never stored.
+     */
+    private ResponseEntity<OrderDTO> replayDuplicate(String idempotencyKey) {
+        Optional<OrderDTO> previous = idempotencyStore.findResponse(idempotencyKey, OrderDTO.class);
+        if (previous.isPresent()) {
+            return replay(previous.get());
+        }
+        Optional<String> orderId = idempotencyStore.findResourceId(idempotencyKey);
+        if (orderId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        OrderDTO orderDTO = orderMapper.toDTO(orderService.getOrder(orderId.get()));
+        idempotencyStore.saveResponse(idempotencyKey, orderDTO);
+        return replay(orderDTO);
+    }
+
+    private ResponseEntity<OrderDTO> replay(OrderDTO orderDTO) {
+        return respond(orderDTO)
+                .header(IDEMPOTENT_REPLAY_HEADER, "true")
+                .body(orderDTO);
+    }
+
+    /**
+     * 201 when the saga was started in the request, 202 with the order's status URL when it was only queued.
+     */
+    private ResponseEntity.BodyBuilder respond(OrderDTO orderDTO) {
+        if (!asyncAcceptance) {
+            return ResponseEntity.status(HttpStatus.CREATED);
+        }
+        URI statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/orders/{orderId}")
+                .buildAndExpand(orderDTO.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(statusUri);
+    }
+
     @ExceptionHandler({EntityNotFoundException.class, InvalidOperationException.class})
     public ResponseEntity<String> handleExceptions(RuntimeException ex) {
         if (ex instanceof EntityNotFoundException) {
@@ -13,5 +13,21 @@ public interface AsyncSagaStep {
     void executeAsync(Object sagaData, Consumer<SagaStepResult> callback);
     boolean hasCompensation();
     void compensateAsync(Object sagaData, Consumer<SagaStepResult> callback);
+
+    /**
+     * True if the step runs by {@link #sendCommand sending a command} instead of {@link #executeAsync},
+     * and its outcome arrives later as the reply (see {@link SagaManager#handleStepResult}).
+     */
+    default boolean awaitsReply() {
+        return false;
+    }
+
+    /**
+     * Appends the command of a step that {@link #awaitsReply() awaits a reply} to the outbox. Called in
+     * the transaction that records the step as started.
+     */
+    default void sendCommand(Object sagaData) {
+        throw new UnsupportedOperationException("Step " + getName() + " does not send commands");
+    }
 }
 
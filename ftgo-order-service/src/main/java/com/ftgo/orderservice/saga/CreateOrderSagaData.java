@@ -16,6 +16,7 @@ public class CreateOrderSagaData {
     private Object paymentRequest;
     private Object lineItems;
     private Object orderTotal;
+    private String deliveryTime;
     
     // Step results stored for compensation
     private String ticketId;
@@ -16,6 +16,8 @@ import java.util.List;
  * This saga orchestrates the order creation process across multiple services.
  * 
  * Uses orchestration-based pattern where SagaManager coordinates all steps.
+ * Ticket creation and card authorization are independent of each other, so they
+ * run as one parallel group between validation and confirmation.
  */
 @Component
 @RequiredArgsConstructor
@@ -36,6 +38,15 @@ public class CreateOrderSagaDefinition implements SagaDefinition {
         );
     }
 
+    @Override
+    public List<List<AsyncSagaStep>> getStepGroups() {
+        return List.of(
+                List.of(validateOrderStep),
+                List.of(createTicketStep, authorizeCardStep),
+                List.of(confirmCreateOrderStep)
+        );
+    }
+
     @Override
     public String getSagaType() {
         return "CreateOrderSaga";
@@ -0,0 +1,126 @@
+package com.ftgo.orderservice.saga;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel for near-term deadlines.
+ * 
+ * Four levels of 64 slots; level n covers 64^(n+1) ticks. Timers land in the lowest level that can
+ * hold their delay and cascade down as the wheel turns, so scheduling and firing are O(1) no matter
+ * how many timers are pending. The wheel is only touched by the thread calling {@link #advance()};
+ * {@link #schedule} may be called from any thread and hands timers over through a lock-free queue.
+ * 
+ * Tasks fire on the advancing thread and must not block.
+ */
+class HierarchicalTimerWheel {
+    private static final int WHEEL_BITS = 6;
+    private static final int SLOTS = 1 << WHEEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final LongSupplier nanoTime;
+    private final long startNanos;
+    private final Instant startInstant;
+    private final Queue<Timer>[][] wheels;
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+
+    HierarchicalTimerWheel(Duration tick) {
+        this(tick, Instant.now(), System::nanoTime);
+    }
+
+    /**
+     * @param startInstant wall-clock time that deadlines are measured from
+     * @param nanoTime monotonic clock the wheel turns by
+     */
+    @SuppressWarnings("unchecked")
+    HierarchicalTimerWheel(Duration tick, Instant startInstant, LongSupplier nanoTime) {
+        this.tickNanos = tick.toNanos();
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+        this.startInstant = startInstant;
+        this.wheels = new Queue[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules the task to run on the first tick at or after the deadline.
+     */
+    void schedule(Instant deadline, Runnable task) {
+        long delayNanos = Duration.between(startInstant, deadline).toNanos();
+        long expiryTick = Math.max(0, (delayNanos + tickNanos - 1) / tickNanos);
+        pending.offer(new Timer(expiryTick, task));
+    }
+
+    /**
+     * Turns the wheel up to the current time, firing every timer that has expired.
+     */
+    void advance() {
+        long targetTick = (nanoTime.getAsLong() - startNanos) / tickNanos;
+        List<Runnable> expired = new ArrayList<>();
+        drainPending(expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(expired);
+            Queue<Timer> slot = wheels[0][(int) (currentTick & SLOT_MASK)];
+            for (Timer timer; (timer = slot.poll()) != null; ) {
+                expired.add(timer.task());
+            }
+            drainPending(expired);
+        }
+        expired.forEach(Runnable::run);
+    }
+
+    private void drainPending(List<Runnable> expired) {
+        for (Timer timer; (timer = pending.poll()) != null; ) {
+            place(timer, expired);
+        }
+    }
+
+    /**
+     * Moves timers of each upper level whose lower levels just wrapped around, highest level first,
+     * so timers cascaded from level n+1 into level n move on to level n-1 in the same tick.
+     */
+    private void cascade(List<Runnable> expired) {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long levelMask = (1L << (WHEEL_BITS * level)) - 1;
+            if ((currentTick & levelMask) != 0) {
+                continue;
+            }
+            Queue<Timer> slot = wheels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & SLOT_MASK)];
+            List<Timer> timers = new ArrayList<>(slot);
+            slot.clear();
+            for (Timer timer : timers) {
+                place(timer, expired);
+            }
+        }
+    }
+
+    private void place(Timer timer, List<Runnable> expired) {
+        long delay = timer.expiryTick() - currentTick;
+        if (delay <= 0) {
+            expired.add(timer.task());
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) ((timer.expiryTick() >>> (WHEEL_BITS * level)) & SLOT_MASK)].offer(timer);
+    }
+
+    private record Timer(long expiryTick, Runnable task) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.ftgo.orderservice.saga;
+
+/**
+ * A resource protected by a semantic lock, identified by type (e.g. "Order", "Customer") and id.
+ */
+public record LockResource(String type, String id) {
+
+    public static LockResource of(String type, String id) {
+        return new LockResource(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + id;
+    }
+}
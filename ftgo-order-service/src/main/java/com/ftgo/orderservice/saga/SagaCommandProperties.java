@@ -0,0 +1,24 @@
+package com.ftgo.orderservice.saga;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Transport of the saga steps that call other services.
+ */
+@ConfigurationProperties(prefix = "ftgo.saga.commands")
+@Getter
+@Setter
+public class SagaCommandProperties {
+    /**
+     * Send CreateTicket and AuthorizeCard as Kafka commands instead of REST calls.
+     * kitchen-service and accounting-service must already consume their command topics.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Topic participants publish replies to.
+     */
+    private String replyTopic = "saga-replies";
+}
@@ -2,6 +2,7 @@ package com.ftgo.orderservice.saga;
 
 import com.ftgo.orderservice.saga.model.SagaInstance;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +11,13 @@ import java.util.Optional;
  * Base interface for saga definitions.
  * 
  * Uses AsyncSagaStep for orchestration-based sagas.
+ * A step's position in {@link #getSteps()} is its bit in the saga instance's completed step bitmap,
+ * so steps may be appended to a definition but not reordered while sagas are in flight.
+ * 
+ * Steps run in groups: every member of a group is started together and the saga only moves on
+ * once all of them have completed (join). By default each step is its own group, which gives
+ * strictly sequential execution. Definitions overriding {@link #getStepGroups()} must list the
+ * same steps, in the same order, as {@link #getSteps()}.
  */
 public interface SagaDefinition {
     String getSagaType();
@@ -20,12 +28,60 @@ public interface SagaDefinition {
                 .filter(step -> step.getName().equals(stepName))
                 .findFirst();
     }
+
+    default int indexOf(AsyncSagaStep step) {
+        int index = getSteps().indexOf(step);
+        if (index < 0) {
+            throw new IllegalArgumentException("Step not part of saga " + getSagaType() + ": " + step.getName());
+        }
+        return index;
+    }
     
-    default Optional<AsyncSagaStep> getNextStep(SagaInstance sagaInstance) {
-        List<String> completedSteps = sagaInstance.getCompletedStepNames();
+    default List<List<AsyncSagaStep>> getStepGroups() {
         return getSteps().stream()
-                .filter(step -> !completedSteps.contains(step.getName()))
-                .findFirst();
+                .map(List::of)
+                .toList();
+    }
+
+    /**
+     * Returns the group containing the given step.
+     */
+    default List<AsyncSagaStep> findGroup(AsyncSagaStep step) {
+        return getStepGroups().stream()
+                .filter(group -> group.contains(step))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Step not part of saga " + getSagaType() + ": " + step.getName()));
     }
-}
 
+    default boolean isGroupCompleted(SagaInstance sagaInstance, List<AsyncSagaStep> group) {
+        return group.stream().allMatch(step -> sagaInstance.isStepCompleted(indexOf(step)));
+    }
+    
+    /**
+     * Returns the not yet completed members of the first group that has not fully completed,
+     * or an empty list when every step has completed.
+     */
+    default List<AsyncSagaStep> getNextSteps(SagaInstance sagaInstance) {
+        for (List<AsyncSagaStep> group : getStepGroups()) {
+            List<AsyncSagaStep> pending = group.stream()
+                    .filter(step -> !sagaInstance.isStepCompleted(indexOf(step)))
+                    .toList();
+            if (!pending.isEmpty()) {
+                return pending;
+            }
+        }
+        return List.of();
+    }
+
+    default List<AsyncSagaStep> getCompletedSteps(SagaInstance sagaInstance) {
+        List<AsyncSagaStep> steps = getSteps();
+        List<AsyncSagaStep> completedSteps = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            if (sagaInstance.isStepCompleted(i)) {
+                completedSteps.add(steps.get(i));
+            }
+        }
+        return completedSteps;
+    }
+}
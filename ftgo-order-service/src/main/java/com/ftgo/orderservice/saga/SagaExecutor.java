@@ -0,0 +1,148 @@
+package com.ftgo.orderservice.saga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution model of the saga engine.
+ * 
+ * Step I/O is non-blocking (WebClient) and completes on Reactor Netty event-loop threads, so
+ * anything blocking that follows - saga row updates, journal writes - is handed to a bounded
+ * worker pool instead of running on the event loop, and so are retried step attempts. A small
+ * scheduler only times retry backoff, timeouts and resubmissions and never runs step code.
+ * 
+ * When the worker queue is full, tasks are resubmitted after a short delay rather than run on
+ * the caller's thread, which may be an event loop.
+ * 
+ * Work that reads or updates saga rows written by the caller's transaction must not start
+ * before that transaction commits; {@link #afterCommit} defers it until then.
+ */
+@Component
+@Slf4j
+public class SagaExecutor {
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledExecutorService scheduler;
+    private final long resubmitDelayMillis;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejectedCounter;
+
+    public SagaExecutor(SagaExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.workerPool = new ThreadPoolExecutor(
+                properties.getWorkerThreads(),
+                properties.getWorkerThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("saga-worker-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Executors.newScheduledThreadPool(
+                properties.getSchedulerThreads(), new CustomizableThreadFactory("saga-scheduler-"));
+        this.resubmitDelayMillis = properties.getResubmitDelay().toMillis();
+        
+        new ExecutorServiceMetrics(workerPool, "saga.worker", List.of()).bindTo(meterRegistry);
+        Gauge.builder("saga.executor.queue.depth", workerPool, pool -> pool.getQueue().size())
+                .description("Saga tasks waiting for a worker thread")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("saga.executor.wait")
+                .description("Time saga tasks spend queued before a worker picks them up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("saga.executor.run")
+                .description("Time saga tasks spend running on a worker")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("saga.executor.rejected")
+                .description("Saga tasks resubmitted because the worker queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs blocking saga work on the worker pool.
+     */
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+        submit(() -> {
+            waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            runTimer.record(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Saga task failed", e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Runs the task once the caller's transaction has committed, or right away without one.
+     * The task is dropped if the transaction rolls back, as the saga rows it would use were never
+     * written. It runs on the committing thread, so it must only start work, not block.
+     */
+    public void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Tasks the worker pool can take right now without queueing past its capacity: idle threads
+     * plus free queue slots.
+     */
+    public int remainingCapacity() {
+        return workerPool.getMaximumPoolSize() - workerPool.getActiveCount() + workerPool.getQueue().remainingCapacity();
+    }
+
+    /**
+     * Scheduler for retry backoff delays. Tasks scheduled here must not block; hand blocking work
+     * to {@link #execute}.
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    private void submit(Runnable task) {
+        try {
+            workerPool.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (workerPool.isShutdown()) {
+                log.warn("Dropping saga task, executor is shut down");
+                return;
+            }
+            rejectedCounter.increment();
+            scheduler.schedule(() -> submit(task), resubmitDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Saga worker pool did not drain within 10s, {} tasks pending", workerPool.getQueue().size());
+            workerPool.shutdownNow();
+        }
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ftgo.orderservice.saga;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limits of the saga engine's executors.
+ */
+@ConfigurationProperties(prefix = "ftgo.saga.executor")
+@Getter
+@Setter
+public class SagaExecutorProperties {
+    /**
+     * Threads running blocking saga work (step callbacks, saga row updates, journal writes).
+     */
+    private int workerThreads = 16;
+
+    /**
+     * Maximum number of saga tasks waiting for a worker thread.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Threads scheduling retry backoff; they only start non-blocking step I/O.
+     */
+    private int schedulerThreads = 2;
+
+    /**
+     * Delay before a task rejected by a full worker queue is submitted again.
+     */
+    private Duration resubmitDelay = Duration.ofMillis(50);
+
+    /**
+     * Number of serial saga mailboxes; rounded up to a power of two.
+     */
+    private int mailboxStripes = 1024;
+
+    /**
+     * Maximum events one mailbox handles before yielding its worker thread.
+     */
+    private int mailboxBatchSize = 64;
+}
@@ -0,0 +1,59 @@
+package com.ftgo.orderservice.saga;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background worker that starts sagas queued by {@link SagaManager#enqueueSagaInstance}.
+ * 
+ * Request threads only insert the saga row; every replica polls for queued sagas, claims a page of
+ * them with FOR UPDATE SKIP LOCKED and starts each one from its mailbox on the saga worker pool.
+ * 
+ * A replica claims only as many sagas as its worker pool can take besides the ones it is still
+ * starting, so a backlog stays queued in the database, where any replica can pick it up, instead of
+ * piling up in memory behind its claim deadline. A claimed saga that is not started in time is
+ * queued again by the timeout scan (see {@link SagaManager#handleTimeout}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaLauncher {
+    private final SagaStore sagaStore;
+    private final SagaManager sagaManager;
+    private final SagaExecutor sagaExecutor;
+    private final SagaTimeoutProperties timeoutProperties;
+
+    // Sagas claimed by this replica whose first steps have not been started yet
+    private final AtomicInteger starting = new AtomicInteger();
+
+    @Value("${ftgo.saga.launcher.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${ftgo.saga.launcher.poll-interval-ms:100}")
+    public void launchQueuedSagas() {
+        while (true) {
+            int limit = Math.min(batchSize, sagaExecutor.remainingCapacity() - starting.get());
+            if (limit <= 0) {
+                log.debug("Saga workers busy, {} sagas still starting", starting.get());
+                return;
+            }
+            List<String> claimed = sagaStore.claimQueuedSagas(Instant.now().plus(timeoutProperties.getStepTimeout()), limit);
+            if (!claimed.isEmpty()) {
+                log.debug("Launching {} queued sagas", claimed.size());
+            }
+            starting.addAndGet(claimed.size());
+            claimed.forEach(sagaInstanceId -> sagaManager.startQueuedSaga(sagaInstanceId)
+                    .whenComplete((started, failure) -> starting.decrementAndGet()));
+            if (claimed.size() < limit) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ftgo.orderservice.saga;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serializes state transitions per saga instance, actor style.
+ * 
+ * Saga ids are hashed onto a fixed set of stripes. Each stripe is a lock-free queue drained by at
+ * most one {@link SagaExecutor} worker at a time, so events for one saga are handled one after
+ * another, in arrival order, while different stripes run in parallel. Handing a saga from one
+ * drain to the next goes through the stripe's atomic flag, which also publishes the in-memory
+ * saga state to the next worker.
+ */
+@Component
+@Slf4j
+public class SagaMailbox {
+    private final SagaExecutor sagaExecutor;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int batchSize;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public SagaMailbox(SagaExecutorProperties properties, SagaExecutor sagaExecutor, MeterRegistry meterRegistry) {
+        this.sagaExecutor = sagaExecutor;
+        int stripeCount = 1;
+        while (stripeCount < properties.getMailboxStripes()) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripeCount - 1;
+        this.batchSize = properties.getMailboxBatchSize();
+        
+        Gauge.builder("saga.mailbox.pending", pending, AtomicInteger::get)
+                .description("Saga events waiting in mailboxes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enqueues an event for the given saga. Never blocks; safe to call from event-loop threads.
+     */
+    public void submit(String sagaInstanceId, Runnable event) {
+        Stripe stripe = stripes[spread(sagaInstanceId.hashCode()) & mask];
+        stripe.queue.offer(event);
+        pending.incrementAndGet();
+        stripe.schedule();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Stripe implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void schedule() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                sagaExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Bounded batches keep one busy stripe from monopolizing a worker
+                for (int i = 0; i < batchSize; i++) {
+                    Runnable event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    pending.decrementAndGet();
+                    try {
+                        event.run();
+                    } catch (RuntimeException e) {
+                        log.error("Saga event failed", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                schedule();
+            }
+        }
+    }
+}
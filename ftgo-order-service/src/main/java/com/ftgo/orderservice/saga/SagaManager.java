@@ -1,26 +1,51 @@
 package com.ftgo.orderservice.saga;
 
 import com.ftgo.orderservice.saga.model.SagaInstance;
-import com.ftgo.orderservice.saga.model.SagaStep;
+import com.ftgo.orderservice.saga.model.SagaState;
+import com.ftgo.orderservice.saga.model.SagaStepExecution;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Manages saga instances and coordinates saga execution.
  * Implements the Orchestration-based Saga pattern from Chapter 4.
+ * 
+ * The saga instance and its deserialized data are carried in memory from step to step,
+ * so advancing a step costs one conditional row update (see {@link SagaStore}).
+ * 
+ * Every state transition of a saga runs as an event in its {@link SagaMailbox}, so transitions
+ * of one saga never overlap (members of a parallel group included) while different sagas
+ * proceed in parallel without locks.
+ * 
+ * Steps that {@link AsyncSagaStep#awaitsReply() await a reply} are the exception to carrying the
+ * instance: their outcome arrives as a message, possibly after a restart or on another replica,
+ * and is applied to the saga as stored. Their commands go through the outbox in the transaction
+ * that records them as started, so a command is sent if and only if the saga row moved on.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SagaManager {
-    private final SagaInstanceRepository sagaInstanceRepository;
+    private final SagaStore sagaStore;
     private final List<SagaDefinition> sagaDefinitions;
     private final SagaStepRetryHandler retryHandler;
+    private final SagaExecutor sagaExecutor;
+    private final SagaMailbox sagaMailbox;
+    private final SagaTimeoutProperties timeoutProperties;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Persists a saga in the caller's transaction and starts it once that transaction commits.
+     */
     public <T> SagaInstance createSagaInstance(String sagaType, T sagaData) {
         log.info("Creating saga instance of type: {}", sagaType);
         
@@ -28,95 +53,297 @@ public class SagaManager {
                 .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaType));
         
         SagaInstance sagaInstance = new SagaInstance(sagaType, sagaData);
-        sagaInstance = sagaInstanceRepository.save(sagaInstance);
+        List<AsyncSagaStep> firstSteps = sagaDefinition.getNextSteps(sagaInstance);
+        if (!firstSteps.isEmpty()) {
+            startSteps(sagaInstance, firstSteps);
+        } else {
+            sagaInstance.complete();
+        }
+        sagaStore.create(sagaInstance);
+        CreateOrderSagaData data = readSagaData(sagaInstance);
+        sendCommands(data, firstSteps);
         
-        // Start the saga by executing the first step
-        executeNextStep(sagaInstance);
+        // Start the saga by executing the first step group from its mailbox, once the caller's
+        // transaction has committed the saga row and whatever the steps read (e.g. the order)
+        sagaExecutor.afterCommit(() -> sagaMailbox.submit(sagaInstance.getId(),
+                () -> executeSteps(sagaInstance, sagaDefinition, data, firstSteps)));
         
         return sagaInstance;
     }
 
-    public void handleStepResult(String sagaInstanceId, String stepName, Object result) {
-        log.info("Handling step result for saga: {}, step: {}", sagaInstanceId, stepName);
+    /**
+     * Persists a saga without starting it; {@link SagaLauncher} starts it in the background.
+     * Joins the caller's transaction, so the saga is queued if and only if the caller commits.
+     */
+    public <T> SagaInstance enqueueSagaInstance(String sagaType, T sagaData) {
+        log.info("Queueing saga instance of type: {}", sagaType);
         
-        SagaInstance sagaInstance = sagaInstanceRepository.findById(sagaInstanceId)
-                .orElseThrow(() -> new IllegalArgumentException("Saga instance not found: " + sagaInstanceId));
-        
-        final String sagaType = sagaInstance.getSagaType();
-        final SagaDefinition sagaDefinition = findSagaDefinition(sagaType)
+        findSagaDefinition(sagaType)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaType));
+        SagaInstance sagaInstance = new SagaInstance(sagaType, sagaData);
+        sagaStore.create(sagaInstance);
+        return sagaInstance;
+    }
+
+    /**
+     * Batched {@link #enqueueSagaInstance}: persists all sagas with a single JDBC batch.
+     */
+    public <T> List<SagaInstance> enqueueSagaInstances(String sagaType, List<T> sagaData) {
+        log.info("Queueing {} saga instances of type: {}", sagaData.size(), sagaType);
         
-        AsyncSagaStep step = sagaDefinition.findStep(stepName)
-                .orElseThrow(() -> new IllegalArgumentException("Step not found: " + stepName));
-        
-        // Mark step as completed
-        sagaInstance.completeStep(stepName, result);
-        sagaInstance = sagaInstanceRepository.save(sagaInstance);
-        
-        // Execute next step or complete saga
-        if (sagaInstance.isCompleted()) {
-            log.info("Saga completed: {}", sagaInstanceId);
-        } else {
-            executeNextStep(sagaInstance);
+        findSagaDefinition(sagaType)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaType));
+        List<SagaInstance> sagaInstances = sagaData.stream()
+                .map(data -> new SagaInstance(sagaType, data))
+                .toList();
+        sagaStore.createAll(sagaInstances);
+        return sagaInstances;
+    }
+
+    /**
+     * Starts the first step group of a queued saga that this replica has claimed. Completes once the
+     * first steps have been started (or the saga turned out to be started already).
+     */
+    public CompletableFuture<Void> startQueuedSaga(String sagaInstanceId) {
+        return submit(sagaInstanceId, () -> {
+            SagaInstance sagaInstance = loadSagaInstance(sagaInstanceId);
+            if (sagaInstance.isCompleted() || sagaInstance.getCurrentStep() != null || sagaInstance.getCompletedSteps() != 0) {
+                return;
+            }
+            SagaDefinition sagaDefinition = findSagaDefinition(sagaInstance.getSagaType())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaInstance.getSagaType()));
+            
+            CreateOrderSagaData sagaData = readSagaData(sagaInstance);
+            List<AsyncSagaStep> firstSteps = sagaDefinition.getNextSteps(sagaInstance);
+            if (!firstSteps.isEmpty()) {
+                startSteps(sagaInstance, firstSteps);
+            } else {
+                sagaInstance.complete();
+            }
+            if (!store(sagaInstance, null, sagaData, firstSteps)) {
+                log.warn("Not starting saga: {}, instance changed concurrently", sagaInstanceId);
+                return;
+            }
+            executeSteps(sagaInstance, sagaDefinition, sagaData, firstSteps);
+        });
+    }
+
+    /**
+     * Applies the outcome of a step to the stored saga. Completes once it has been applied;
+     * results of steps that have already completed are ignored.
+     */
+    public CompletableFuture<Void> handleStepResult(String sagaInstanceId, String stepName, Object result) {
+        return submit(sagaInstanceId, () -> {
+            SagaInstance sagaInstance = loadSagaInstance(sagaInstanceId);
+            SagaDefinition sagaDefinition = findSagaDefinition(sagaInstance.getSagaType())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaInstance.getSagaType()));
+            AsyncSagaStep step = sagaDefinition.findStep(stepName)
+                    .orElseThrow(() -> new IllegalArgumentException("Step not found: " + stepName));
+            if (sagaInstance.getState() == SagaState.COMPLETED || sagaInstance.isStepCompleted(sagaDefinition.indexOf(step))) {
+                log.debug("Ignoring result of step: {} for saga: {}, already applied", stepName, sagaInstanceId);
+                return;
+            }
+            
+            onStepSucceeded(sagaInstance, sagaDefinition, readSagaData(sagaInstance), step, result);
+        });
+    }
+
+    /**
+     * Fails the stored saga because of the given step. Completes once the failure has been applied;
+     * failures reported after the saga completed are ignored.
+     */
+    public CompletableFuture<Void> handleStepFailure(String sagaInstanceId, String stepName, Exception failure) {
+        return submit(sagaInstanceId, () -> {
+            SagaInstance sagaInstance = loadSagaInstance(sagaInstanceId);
+            SagaDefinition sagaDefinition = findSagaDefinition(sagaInstance.getSagaType())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaInstance.getSagaType()));
+            if (sagaInstance.getState() == SagaState.COMPLETED) {
+                log.debug("Ignoring failure of step: {} for completed saga: {}", stepName, sagaInstanceId);
+                return;
+            }
+            
+            onStepFailed(sagaInstance, sagaDefinition, readSagaData(sagaInstance), stepName, failure);
+        });
+    }
+
+    /**
+     * Fails the saga if its step or overall deadline has passed; called by the timeout scan
+     * when a claimed deadline is reached. A queued saga that was claimed but never started is
+     * queued again instead.
+     */
+    public void handleTimeout(String sagaInstanceId) {
+        sagaMailbox.submit(sagaInstanceId, () -> {
+            SagaInstance sagaInstance = loadSagaInstance(sagaInstanceId);
+            if (sagaInstance.isCompleted() || sagaInstance.getDeadlineAt() == null) {
+                return;
+            }
+            if (sagaInstance.getDeadlineAt().isAfter(Instant.now())) {
+                // The saga progressed since its deadline was claimed; let the scan pick up the new one
+                sagaStore.releaseDeadlineClaim(sagaInstanceId);
+                return;
+            }
+            if (sagaInstance.getCurrentStep() == null && sagaInstance.getCompletedSteps() == 0) {
+                // Claimed by a launcher that died or fell behind before the first step; the order was
+                // accepted, so the saga goes back to the queue instead of failing
+                if (sagaStore.requeue(sagaInstance)) {
+                    log.warn("Saga: {} was claimed but not started before its deadline, queued again", sagaInstanceId);
+                }
+                return;
+            }
+            SagaDefinition sagaDefinition = findSagaDefinition(sagaInstance.getSagaType())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaInstance.getSagaType()));
+            
+            String reason;
+            if (!sagaInstance.getCreatedAt().plus(timeoutProperties.getSagaTimeout()).isAfter(Instant.now())) {
+                reason = "Saga timed out after " + timeoutProperties.getSagaTimeout().toMinutes() + " minutes";
+            } else if (sagaInstance.getCurrentStep() == null) {
+                reason = "Saga did not start its next step within " + timeoutProperties.getStepTimeout().toMinutes() + " minutes";
+            } else {
+                reason = "Step " + sagaInstance.getCurrentStep() + " timed out after " + timeoutProperties.getStepTimeout().toMinutes() + " minutes";
+            }
+            log.warn("Saga: {} timed out: {}", sagaInstanceId, reason);
+            onStepFailed(sagaInstance, sagaDefinition, readSagaData(sagaInstance), "TIMEOUT", new TimeoutException(reason));
+        });
+    }
+
+    private void executeSteps(SagaInstance sagaInstance, SagaDefinition sagaDefinition,
+                              CreateOrderSagaData sagaData, List<AsyncSagaStep> steps) {
+        for (AsyncSagaStep step : steps) {
+            executeStep(sagaInstance, sagaDefinition, sagaData, step);
         }
     }
 
-    public void handleStepFailure(String sagaInstanceId, String stepName, Exception failure) {
-        log.error("Handling step failure for saga: {}, step: {}", sagaInstanceId, stepName, failure);
-        
-        SagaInstance sagaInstance = sagaInstanceRepository.findById(sagaInstanceId)
-                .orElseThrow(() -> new IllegalArgumentException("Saga instance not found: " + sagaInstanceId));
+    private void executeStep(SagaInstance sagaInstance, SagaDefinition sagaDefinition,
+                             CreateOrderSagaData sagaData, AsyncSagaStep step) {
+        log.info("Executing next step: {} for saga: {} (orchestrated)", step.getName(), sagaInstance.getId());
         
-        SagaDefinition sagaDefinition = findSagaDefinition(sagaInstance.getSagaType())
-                .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaInstance.getSagaType()));
+        if (step.awaitsReply()) {
+            // Its command was appended to the outbox with the row update; the reply is applied through handleStepResult
+            return;
+        }
         
-        // Execute compensating transactions in reverse order
-        compensateSaga(sagaInstance, sagaDefinition);
+        // Use retry handler to execute step with Resilience4j retry; the outcome is queued in the saga's mailbox
+        retryHandler.executeWithRetry(step, sagaData, result -> sagaMailbox.submit(sagaInstance.getId(), () -> {
+            if (result.isSuccess()) {
+                onStepSucceeded(sagaInstance, sagaDefinition, sagaData, step, result.getResult());
+            } else {
+                onStepFailed(sagaInstance, sagaDefinition, sagaData, step.getName(), result.getFailure());
+            }
+        }));
     }
 
-    private void executeNextStep(SagaInstance sagaInstance) {
-        final String sagaType = sagaInstance.getSagaType();
-        final SagaDefinition sagaDefinition = findSagaDefinition(sagaType)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaType));
+    private void onStepSucceeded(SagaInstance sagaInstance, SagaDefinition sagaDefinition,
+                                 CreateOrderSagaData sagaData, AsyncSagaStep step, Object result) {
+        log.info("Handling step result for saga: {}, step: {}", sagaInstance.getId(), step.getName());
         
-        Optional<AsyncSagaStep> nextStep = sagaDefinition.getNextStep(sagaInstance);
+        // Store step result in saga data for compensation
+        storeStepResult(sagaData, step.getName(), result);
+        Instant stepStartedAt = sagaInstance.getStepStartedAt();
+        sagaInstance.completeStep(sagaDefinition.indexOf(step), sagaData);
         
-        if (nextStep.isPresent()) {
-            final AsyncSagaStep step = nextStep.get();
-            final String sagaInstanceId = sagaInstance.getId();
-            log.info("Executing next step: {} for saga: {} (orchestrated)", step.getName(), sagaInstanceId);
-            
-            sagaInstance.startStep(step.getName());
-            sagaInstance = sagaInstanceRepository.save(sagaInstance);
-            
-            // Execute step asynchronously with retry and callback
-            // Reload from database to ensure we have the latest state
-            sagaInstance = sagaInstanceRepository.findById(sagaInstanceId)
-                    .orElseThrow(() -> new IllegalStateException("Saga instance not found: " + sagaInstanceId));
-            
-            final CreateOrderSagaData sagaData = sagaInstance.getSagaData(CreateOrderSagaData.class);
-            if (sagaData == null) {
-                throw new IllegalStateException("Saga data is null for saga instance: " + sagaInstanceId);
+        // A sibling in the same group already failed the saga; this step still has to be undone
+        boolean compensateLateStep = sagaInstance.getState() == SagaState.FAILED;
+        
+        // Completing this step and, once its group has joined, starting the next group is a single row update
+        List<AsyncSagaStep> nextSteps = List.of();
+        boolean sagaCompleted = false;
+        if (!compensateLateStep && sagaDefinition.isGroupCompleted(sagaInstance, sagaDefinition.findGroup(step))) {
+            nextSteps = sagaDefinition.getNextSteps(sagaInstance);
+            if (!nextSteps.isEmpty()) {
+                startSteps(sagaInstance, nextSteps);
+            } else {
+                sagaInstance.complete();
+                sagaCompleted = true;
             }
-            sagaData.setSagaInstanceId(sagaInstanceId);
-            
-            // Use retry handler to execute step with Resilience4j retry
-            retryHandler.executeWithRetry(step, sagaData, result -> {
-                if (result.isSuccess()) {
-                    // Store step result in saga data
-                    storeStepResult(sagaData, step.getName(), result.getResult());
-                    handleStepResult(sagaInstanceId, step.getName(), result.getResult());
-                } else {
-                    handleStepFailure(sagaInstanceId, step.getName(), result.getFailure());
-                }
-            });
-        } else {
-            sagaInstance.complete();
-            sagaInstanceRepository.save(sagaInstance);
+        }
+        
+        SagaStepExecution journalEntry = SagaStepExecution.completed(
+                sagaInstance.getId(), step.getName(), stepStartedAt, result);
+        if (!store(sagaInstance, journalEntry, sagaData, nextSteps)) {
+            compensateIfFailedConcurrently(sagaInstance.getId(), sagaData, step);
+            return;
+        }
+        
+        if (compensateLateStep) {
+            log.info("Step: {} completed after saga: {} failed", step.getName(), sagaInstance.getId());
+            compensateSteps(sagaInstance, sagaData, List.of(step));
+        } else if (!nextSteps.isEmpty()) {
+            executeSteps(sagaInstance, sagaDefinition, sagaData, nextSteps);
+        } else if (sagaCompleted) {
             log.info("Saga completed successfully: {}", sagaInstance.getId());
         }
     }
+
+    private void onStepFailed(SagaInstance sagaInstance, SagaDefinition sagaDefinition,
+                              CreateOrderSagaData sagaData, String stepName, Exception failure) {
+        log.error("Handling step failure for saga: {}, step: {}", sagaInstance.getId(), stepName, failure);
+        
+        String reason = failure != null ? failure.getMessage() : null;
+        if (sagaInstance.getState() == SagaState.FAILED) {
+            // Another member of the same group already failed the saga and started compensation
+            sagaStore.append(SagaStepExecution.failed(sagaInstance.getId(), stepName, sagaInstance.getStepStartedAt(), reason));
+            return;
+        }
+        
+        Instant stepStartedAt = sagaInstance.getStepStartedAt();
+        sagaInstance.fail(reason);
+        
+        SagaStepExecution journalEntry = SagaStepExecution.failed(sagaInstance.getId(), stepName, stepStartedAt, reason);
+        if (!sagaStore.update(sagaInstance, journalEntry)) {
+            log.warn("Skipping compensation of saga: {}, instance changed concurrently", sagaInstance.getId());
+            return;
+        }
+        
+        // Execute compensating transactions in reverse order; group members completing later compensate themselves
+        log.info("Compensating saga: {}", sagaInstance.getId());
+        compensateSteps(sagaInstance, sagaData, sagaDefinition.getCompletedSteps(sagaInstance));
+    }
     
+    /**
+     * A step finished on a stale copy of the saga. If the saga has failed meanwhile (e.g. timed out),
+     * the step's effect still has to be undone.
+     */
+    private void compensateIfFailedConcurrently(String sagaInstanceId, CreateOrderSagaData sagaData, AsyncSagaStep step) {
+        SagaInstance current = loadSagaInstance(sagaInstanceId);
+        if (current.getState() == SagaState.FAILED) {
+            log.info("Step: {} completed after saga: {} failed", step.getName(), sagaInstanceId);
+            compensateSteps(current, sagaData, List.of(step));
+        } else {
+            log.warn("Abandoning saga: {} after step: {}, instance changed concurrently", sagaInstanceId, step.getName());
+        }
+    }
+
+    /**
+     * Updates the saga row and appends the commands of the steps it starts in one transaction.
+     * 
+     * @return false if the row was modified concurrently; no command is sent then
+     */
+    private boolean store(SagaInstance sagaInstance, SagaStepExecution journalEntry,
+                          CreateOrderSagaData sagaData, List<AsyncSagaStep> startedSteps) {
+        if (startedSteps.stream().noneMatch(AsyncSagaStep::awaitsReply)) {
+            return sagaStore.update(sagaInstance, journalEntry);
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!sagaStore.update(sagaInstance, journalEntry)) {
+                return false;
+            }
+            sendCommands(sagaData, startedSteps);
+            return true;
+        }));
+    }
+
+    private void sendCommands(CreateOrderSagaData sagaData, List<AsyncSagaStep> startedSteps) {
+        for (AsyncSagaStep step : startedSteps) {
+            if (step.awaitsReply()) {
+                step.sendCommand(sagaData);
+            }
+        }
+    }
+
+    private void startSteps(SagaInstance sagaInstance, List<AsyncSagaStep> steps) {
+        sagaInstance.startStep(groupName(steps), timeoutProperties.getStepTimeout(), timeoutProperties.getSagaTimeout());
+    }
+
     private void storeStepResult(CreateOrderSagaData sagaData, String stepName, Object result) {
         // Store step results for compensation
         if ("CreateTicket".equals(stepName) && result != null) {
@@ -126,45 +353,65 @@ public class SagaManager {
         }
     }
 
-    private void compensateSaga(SagaInstance sagaInstance, SagaDefinition sagaDefinition) {
-        log.info("Compensating saga: {}", sagaInstance.getId());
-        
-        sagaInstance.fail();
-        sagaInstance = sagaInstanceRepository.save(sagaInstance);
-        
-        // Execute compensating transactions in reverse order
-        final String sagaType = sagaInstance.getSagaType();
-        final SagaDefinition sagaDef = findSagaDefinition(sagaType)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown saga type: " + sagaType));
-        
-        List<String> completedStepNames = sagaInstance.getCompletedStepNames();
-        for (int i = completedStepNames.size() - 1; i >= 0; i--) {
-            String stepName = completedStepNames.get(i);
-            Optional<AsyncSagaStep> stepOpt = sagaDef.findStep(stepName);
-            if (stepOpt.isPresent()) {
-                AsyncSagaStep step = stepOpt.get();
-                if (step.hasCompensation()) {
-                    log.info("Executing compensation for step: {} (orchestrated)", step.getName());
-                    CreateOrderSagaData sagaData = sagaInstance.getSagaData(CreateOrderSagaData.class);
-                    sagaData.setSagaInstanceId(sagaInstance.getId());
-                    
-                    step.compensateAsync(sagaData, result -> {
-                        if (result.isSuccess()) {
-                            log.info("Compensation successful for step: {}", step.getName());
-                        } else {
-                            log.error("Compensation failed for step: {}", step.getName(), result.getFailure());
-                            // Continue with other compensations even if one fails
-                        }
-                    });
-                }
+    private void compensateSteps(SagaInstance sagaInstance, CreateOrderSagaData sagaData, List<AsyncSagaStep> steps) {
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            AsyncSagaStep step = steps.get(i);
+            if (step.hasCompensation()) {
+                log.info("Executing compensation for step: {} (orchestrated)", step.getName());
+                step.compensateAsync(sagaData, result -> {
+                    if (result.isSuccess()) {
+                        log.info("Compensation successful for step: {}", step.getName());
+                        sagaExecutor.execute(() -> sagaStore.append(
+                                SagaStepExecution.compensated(sagaInstance.getId(), step.getName())));
+                    } else {
+                        log.error("Compensation failed for step: {}", step.getName(), result.getFailure());
+                        // Continue with other compensations even if one fails
+                    }
+                });
             }
         }
     }
 
+    /**
+     * Runs a transition in the saga's mailbox and reports when it has run.
+     */
+    private CompletableFuture<Void> submit(String sagaInstanceId, Runnable transition) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        sagaMailbox.submit(sagaInstanceId, () -> {
+            try {
+                transition.run();
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return done;
+    }
+
+    private String groupName(List<AsyncSagaStep> steps) {
+        return steps.stream()
+                .map(AsyncSagaStep::getName)
+                .collect(Collectors.joining(","));
+    }
+
+    private SagaInstance loadSagaInstance(String sagaInstanceId) {
+        return sagaStore.load(sagaInstanceId)
+                .orElseThrow(() -> new IllegalArgumentException("Saga instance not found: " + sagaInstanceId));
+    }
+
+    private CreateOrderSagaData readSagaData(SagaInstance sagaInstance) {
+        CreateOrderSagaData sagaData = sagaInstance.getSagaData(CreateOrderSagaData.class);
+        if (sagaData == null) {
+            throw new IllegalStateException("Saga data is null for saga instance: " + sagaInstance.getId());
+        }
+        sagaData.setSagaInstanceId(sagaInstance.getId());
+        return sagaData;
+    }
+
     private Optional<SagaDefinition> findSagaDefinition(String sagaType) {
         return sagaDefinitions.stream()
                 .filter(def -> def.getSagaType().equals(sagaType))
                 .findFirst();
     }
 }
-
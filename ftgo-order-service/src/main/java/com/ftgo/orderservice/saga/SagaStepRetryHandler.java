@@ -9,14 +9,22 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Handles retry logic for saga steps using Resilience4j Retry with exponential backoff.
  * Wraps async callback-based saga step execution in CompletableFuture to integrate with Resilience4j.
+ * 
+ * The {@link SagaExecutor} scheduler only times the backoff: each retried attempt is handed to the
+ * worker pool, because steps may block (JPA reads, menu lookups) and the scheduler also drives the
+ * timeout wheel and worker resubmission. The first attempt runs on the calling thread. The final
+ * callback may run on an I/O thread and must not block; {@link SagaManager} hands it to the saga's
+ * mailbox.
+ * 
+ * When called inside a transaction, the first attempt waits until it commits, so neither the step
+ * nor the saga row update its callback triggers can run ahead of the rows the transaction inserts.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,7 +33,7 @@ public class SagaStepRetryHandler {
     private static final String RETRY_INSTANCE_NAME = "saga-step-retry";
     
     private final RetryRegistry retryRegistry;
-    private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(10);
+    private final SagaExecutor sagaExecutor;
 
     /**
      * Executes a saga step with retry logic and exponential backoff using Resilience4j.
@@ -35,6 +43,10 @@ public class SagaStepRetryHandler {
      * @param callback The callback to invoke with the final result
      */
     public void executeWithRetry(AsyncSagaStep step, Object sagaData, Consumer<SagaStepResult> callback) {
+        sagaExecutor.afterCommit(() -> retry(step, sagaData, callback));
+    }
+
+    private void retry(AsyncSagaStep step, Object sagaData, Consumer<SagaStepResult> callback) {
         log.debug("Executing step: {} with Resilience4j retry", step.getName());
         
         // Get retry instance from registry
@@ -44,31 +56,22 @@ public class SagaStepRetryHandler {
         String sagaInstanceId = extractSagaInstanceId(sagaData);
         
         // Create a supplier that wraps the async step execution in CompletableFuture
-        // This supplier will be called for each retry attempt
+        // This supplier will be called for each retry attempt, retries on the scheduler thread
+        AtomicBoolean firstAttempt = new AtomicBoolean(true);
         Supplier<CompletionStage<SagaStepResult>> stepSupplier = () -> {
             CompletableFuture<SagaStepResult> future = new CompletableFuture<>();
-            
-            log.debug("Attempting to execute step: {}", step.getName());
-            
-            // Execute step asynchronously - this will be called for each retry
-            step.executeAsync(sagaData, result -> {
-                if (result.isSuccess()) {
-                    log.debug("Step {} succeeded", step.getName());
-                    future.complete(result);
-                } else {
-                    // If failure, complete exceptionally so Resilience4j can retry
-                    Exception failure = result.getFailure();
-                    log.debug("Step {} failed: {}", step.getName(), failure.getMessage());
-                    future.completeExceptionally(failure);
-                }
-            });
-            
+            Runnable attempt = () -> attempt(step, sagaData, future);
+            if (firstAttempt.getAndSet(false)) {
+                attempt.run();
+            } else {
+                sagaExecutor.execute(attempt);
+            }
             return future;
         };
         
         // Decorate with retry logic - Resilience4j will call the supplier for each retry attempt
         CompletionStage<SagaStepResult> retryableStage = retry.executeCompletionStage(
-            executorService, 
+            sagaExecutor.scheduler(), 
             stepSupplier
         );
         
@@ -106,6 +109,26 @@ public class SagaStepRetryHandler {
             });
     }
     
+    private void attempt(AsyncSagaStep step, Object sagaData, CompletableFuture<SagaStepResult> future) {
+        log.debug("Attempting to execute step: {}", step.getName());
+        try {
+            step.executeAsync(sagaData, result -> {
+                if (result.isSuccess()) {
+                    log.debug("Step {} succeeded", step.getName());
+                    future.complete(result);
+                } else {
+                    // If failure, complete exceptionally so Resilience4j can retry
+                    Exception failure = result.getFailure();
+                    log.debug("Step {} failed: {}", step.getName(), failure.getMessage());
+                    future.completeExceptionally(failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A step that throws instead of calling back must not leave the retry waiting forever
+            future.completeExceptionally(e);
+        }
+    }
+    
     /**
      * Extracts saga instance ID from saga data for error reporting.
      */
@@ -0,0 +1,214 @@
+package com.ftgo.orderservice.saga;
+
+import com.ftgo.orderservice.saga.model.SagaInstance;
+import com.ftgo.orderservice.saga.model.SagaStepExecution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Write-minimal persistence for saga instances.
+ * 
+ * Step progress is kept in the saga_instances row (completed step bitmap, current step),
+ * so advancing a saga is a single conditional UPDATE guarded by the row version.
+ * The saga_step_executions journal is an optional insert-only append in the same transaction.
+ * 
+ * Instances returned by this store are always detached; callers carry them between steps
+ * instead of reloading them.
+ */
+@Component
+@Slf4j
+public class SagaStore {
+    private static final String UPDATE_SAGA =
+        "UPDATE SagaInstance s SET s.state = :state, s.sagaData = :sagaData, " +
+        "s.completedSteps = :completedSteps, s.currentStep = :currentStep, s.stepStartedAt = :stepStartedAt, " +
+        "s.deadlineAt = :deadlineAt, s.completedAt = :completedAt, s.failureReason = :failureReason, " +
+        "s.version = :nextVersion " +
+        "WHERE s.id = :id AND s.version = :version";
+    // Claim columns are outside the entity and the row version, so claiming never conflicts with saga progress
+    private static final String CLAIM_DEADLINES =
+        "UPDATE saga_instances SET timeout_claimed_until = ? WHERE id IN (" +
+        "  SELECT id FROM saga_instances WHERE deadline_at <= ? " +
+        "  AND (timeout_claimed_until IS NULL OR timeout_claimed_until < ?) " +
+        "  ORDER BY deadline_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, deadline_at";
+    // Moves queued sagas to IN_PROGRESS so exactly one replica starts each; the deadline covers a worker dying before the first step
+    private static final String CLAIM_QUEUED_SAGAS =
+        "UPDATE saga_instances SET state = 'IN_PROGRESS', deadline_at = ?, version = version + 1 WHERE id IN (" +
+        "  SELECT id FROM saga_instances WHERE state = 'STARTED' " +
+        "  ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id";
+    // Gives a claimed saga that never started a step back to the launcher, if nobody started it meanwhile
+    private static final String REQUEUE_SAGA =
+        "UPDATE saga_instances SET state = 'STARTED', deadline_at = NULL, timeout_claimed_until = NULL, " +
+        "version = version + 1 WHERE id = ? AND version = ? AND current_step IS NULL AND completed_steps = 0";
+    private static final String INSERT_SAGA =
+        "INSERT INTO saga_instances (id, version, saga_type, state, saga_data, created_at, completed_steps) " +
+        "VALUES (?, 0, ?, ?, ?, ?, 0)";
+    private static final String RELEASE_DEADLINE_CLAIM =
+        "UPDATE saga_instances SET timeout_claimed_until = NULL WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean journalEnabled;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter selects;
+    private final Counter journalAppends;
+
+    public SagaStore(JdbcTemplate jdbcTemplate,
+                     @Value("${ftgo.saga.store.journal-enabled:true}") boolean journalEnabled,
+                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.journalEnabled = journalEnabled;
+        this.inserts = statementCounter(meterRegistry, "insert");
+        this.updates = statementCounter(meterRegistry, "update");
+        this.selects = statementCounter(meterRegistry, "select");
+        this.journalAppends = statementCounter(meterRegistry, "journal");
+    }
+
+    @Transactional
+    public void create(SagaInstance sagaInstance) {
+        entityManager.persist(sagaInstance);
+        entityManager.flush();
+        // Detach so later conditional updates are not overwritten by dirty checking
+        entityManager.detach(sagaInstance);
+        inserts.increment();
+    }
+
+    /**
+     * Inserts new, not yet started sagas as one JDBC batch; the instances must be fresh from
+     * the constructor. Joins the caller's transaction like {@link #create}.
+     */
+    @Transactional
+    public void createAll(List<SagaInstance> sagaInstances) {
+        if (sagaInstances.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SAGA, sagaInstances, sagaInstances.size(), (ps, sagaInstance) -> {
+            ps.setString(1, sagaInstance.getId());
+            ps.setString(2, sagaInstance.getSagaType());
+            ps.setString(3, sagaInstance.getState().name());
+            ps.setString(4, sagaInstance.getSagaData());
+            ps.setTimestamp(5, Timestamp.from(sagaInstance.getCreatedAt()));
+        });
+        sagaInstances.forEach(sagaInstance -> sagaInstance.markStored(0));
+        inserts.increment(sagaInstances.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SagaInstance> load(String sagaInstanceId) {
+        SagaInstance sagaInstance = entityManager.find(SagaInstance.class, sagaInstanceId);
+        selects.increment();
+        if (sagaInstance != null) {
+            entityManager.detach(sagaInstance);
+        }
+        return Optional.ofNullable(sagaInstance);
+    }
+
+    /**
+     * Writes the in-memory state of the saga back to its row if nobody else changed it since
+     * it was read, and appends the journal entry when the journal is enabled.
+     * 
+     * @return false if the row was modified concurrently; the caller's copy is then stale
+     */
+    @Transactional
+    public boolean update(SagaInstance sagaInstance, SagaStepExecution journalEntry) {
+        long version = sagaInstance.getVersion();
+        int updated = entityManager.createQuery(UPDATE_SAGA)
+                .setParameter("state", sagaInstance.getState())
+                .setParameter("sagaData", sagaInstance.getSagaData())
+                .setParameter("completedSteps", sagaInstance.getCompletedSteps())
+                .setParameter("currentStep", sagaInstance.getCurrentStep())
+                .setParameter("stepStartedAt", sagaInstance.getStepStartedAt())
+                .setParameter("deadlineAt", sagaInstance.getDeadlineAt())
+                .setParameter("completedAt", sagaInstance.getCompletedAt())
+                .setParameter("failureReason", sagaInstance.getFailureReason())
+                .setParameter("nextVersion", version + 1)
+                .setParameter("id", sagaInstance.getId())
+                .setParameter("version", version)
+                .executeUpdate();
+        updates.increment();
+
+        if (updated == 0) {
+            log.warn("Saga instance {} was modified concurrently (expected version {})", sagaInstance.getId(), version);
+            return false;
+        }
+        sagaInstance.markStored(version + 1);
+        append(journalEntry);
+        return true;
+    }
+
+    @Transactional
+    public void append(SagaStepExecution journalEntry) {
+        if (journalEnabled && journalEntry != null) {
+            entityManager.persist(journalEntry);
+            journalAppends.increment();
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} unfinished sagas whose deadline is at or before {@code horizon} for
+     * this replica until {@code claimUntil}. Rows claimed by a live replica or locked by a concurrent
+     * scan are skipped, so replicas split the work without waiting on each other.
+     */
+    @Transactional
+    public List<SagaDeadline> claimDeadlines(Instant horizon, Instant claimUntil, int limit) {
+        return jdbcTemplate.query(CLAIM_DEADLINES,
+                (rs, rowNum) -> new SagaDeadline(rs.getString("id"), rs.getTimestamp("deadline_at").toInstant()),
+                Timestamp.from(claimUntil), Timestamp.from(horizon), Timestamp.from(Instant.now()), limit);
+    }
+
+    /**
+     * Claims up to {@code limit} queued (STARTED) sagas for this replica to start, oldest first.
+     * 
+     * @param startDeadline deadline for the first step to be started, enforced by the timeout scan
+     */
+    @Transactional
+    public List<String> claimQueuedSagas(Instant startDeadline, int limit) {
+        return jdbcTemplate.queryForList(CLAIM_QUEUED_SAGAS, String.class, Timestamp.from(startDeadline), limit);
+    }
+
+    /**
+     * Puts a saga claimed by {@link #claimQueuedSagas} that never started a step back into the queue.
+     * 
+     * @return false if the row was modified concurrently, e.g. the saga has started after all
+     */
+    @Transactional
+    public boolean requeue(SagaInstance sagaInstance) {
+        int updated = jdbcTemplate.update(REQUEUE_SAGA, sagaInstance.getId(), sagaInstance.getVersion());
+        updates.increment();
+        return updated == 1;
+    }
+
+    /**
+     * Gives a claimed saga back to the scan, e.g. after its deadline moved past the claim.
+     */
+    @Transactional
+    public void releaseDeadlineClaim(String sagaInstanceId) {
+        jdbcTemplate.update(RELEASE_DEADLINE_CLAIM, sagaInstanceId);
+    }
+
+    public record SagaDeadline(String sagaInstanceId, Instant deadlineAt) {
+    }
+
+    private static Counter statementCounter(MeterRegistry meterRegistry, String statement) {
+        return Counter.builder("saga.store.statements")
+                .description("Database statements issued by the saga store")
+                .tag("statement", statement)
+                .register(meterRegistry);
+    }
+}
@@ -1,71 +1,62 @@
 package com.ftgo.orderservice.saga;
 
-import com.ftgo.orderservice.saga.model.SagaInstance;
-import com.ftgo.orderservice.saga.model.SagaState;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handles saga timeouts and retries.
  * Implements timeout and retry mechanisms from Chapter 4.
+ * 
+ * Every unfinished saga carries a deadline (its step or saga timeout, whichever is earlier) in an
+ * indexed column. Each replica periodically claims the sagas whose deadline falls within the scan
+ * horizon, a page at a time with FOR UPDATE SKIP LOCKED, so replicas split the work instead of all
+ * loading every in-flight saga. Claimed deadlines go on an in-memory timer wheel and are enforced
+ * when they expire; a claim that is not enforced (e.g. the replica died) lapses and is picked up again.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SagaTimeoutHandler {
-    private final SagaInstanceRepository sagaInstanceRepository;
+    private final SagaStore sagaStore;
     private final SagaManager sagaManager;
-    
-    private static final Duration SAGA_TIMEOUT = Duration.ofMinutes(30);
-    private static final Duration STEP_TIMEOUT = Duration.ofMinutes(5);
+    private final SagaTimeoutProperties properties;
+    private final HierarchicalTimerWheel timerWheel;
 
-    /**
-     * Periodically check for timed-out sagas and steps.
-     */
-    @Scheduled(fixedDelay = 60000) // Run every minute
-    public void checkTimeouts() {
-        log.debug("Checking for timed-out sagas and steps");
-        
-        // Find sagas that are in progress and have timed out
-        List<SagaInstance> inProgressSagas = sagaInstanceRepository.findByState(SagaState.IN_PROGRESS).stream()
-                .filter(this::isSagaTimedOut)
-                .toList();
+    public SagaTimeoutHandler(SagaStore sagaStore, SagaManager sagaManager,
+                              SagaTimeoutProperties properties, SagaExecutor sagaExecutor) {
+        this.sagaStore = sagaStore;
+        this.sagaManager = sagaManager;
+        this.properties = properties;
+        this.timerWheel = new HierarchicalTimerWheel(properties.getTick());
         
-        for (SagaInstance saga : inProgressSagas) {
-            log.warn("Saga timed out: {}", saga.getId());
-            handleSagaTimeout(saga);
-        }
+        long tickMillis = properties.getTick().toMillis();
+        sagaExecutor.scheduler().scheduleAtFixedRate(timerWheel::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
     }
 
-    private boolean isSagaTimedOut(SagaInstance saga) {
-        if (saga.getCreatedAt() == null) {
-            return false;
-        }
-        
-        Duration elapsed = Duration.between(saga.getCreatedAt(), Instant.now());
-        return elapsed.compareTo(SAGA_TIMEOUT) > 0;
-    }
-
-    private void handleSagaTimeout(SagaInstance saga) {
-        log.error("Handling timeout for saga: {}", saga.getId());
+    /**
+     * Periodically claim sagas whose deadline is near and schedule their timeout.
+     */
+    @Scheduled(fixedDelayString = "${ftgo.saga.timeout.scan-interval-ms:10000}")
+    public void checkTimeouts() {
+        Instant horizon = Instant.now().plus(properties.getScanHorizon());
+        Instant claimUntil = horizon.plus(properties.getClaimGrace());
         
-        // Mark saga as failed due to timeout
-        saga.fail("Saga timed out after " + SAGA_TIMEOUT.toMinutes() + " minutes");
-        sagaInstanceRepository.save(saga);
+        int claimed = 0;
+        List<SagaStore.SagaDeadline> page;
+        do {
+            page = sagaStore.claimDeadlines(horizon, claimUntil, properties.getPageSize());
+            for (SagaStore.SagaDeadline deadline : page) {
+                timerWheel.schedule(deadline.deadlineAt(), () -> sagaManager.handleTimeout(deadline.sagaInstanceId()));
+            }
+            claimed += page.size();
+        } while (page.size() == properties.getPageSize());
         
-        // Trigger compensation
-        try {
-            sagaManager.handleStepFailure(saga.getId(), "TIMEOUT", 
-                    new RuntimeException("Saga timed out"));
-        } catch (Exception e) {
-            log.error("Error handling saga timeout: {}", saga.getId(), e);
+        if (claimed > 0) {
+            log.debug("Claimed {} saga deadlines before {}", claimed, horizon);
         }
     }
 }
-
@@ -0,0 +1,51 @@
+package com.ftgo.orderservice.saga;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Saga and step deadlines, and how replicas scan for them.
+ */
+@ConfigurationProperties(prefix = "ftgo.saga.timeout")
+@Getter
+@Setter
+public class SagaTimeoutProperties {
+    /**
+     * Maximum lifetime of a saga.
+     */
+    private Duration sagaTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Maximum time a step (or parallel step group) may run.
+     */
+    private Duration stepTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Delay between deadline scans.
+     * Read by the scheduler through ftgo.saga.timeout.scan-interval-ms.
+     */
+    private long scanIntervalMs = 10000;
+
+    /**
+     * Sagas whose deadline falls within this window are claimed and put on the timer wheel.
+     */
+    private Duration scanHorizon = Duration.ofMinutes(2);
+
+    /**
+     * How long past the scan horizon a claim stays with this replica before others may take it over.
+     */
+    private Duration claimGrace = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of sagas claimed per statement.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Resolution of the timer wheel.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+}
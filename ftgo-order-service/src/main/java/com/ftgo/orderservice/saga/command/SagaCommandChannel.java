@@ -0,0 +1,41 @@
+package com.ftgo.orderservice.saga.command;
+
+import com.ftgo.common.outbox.TransactionalOutbox;
+import com.ftgo.common.saga.SagaCommand;
+import com.ftgo.orderservice.saga.SagaCommandProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends saga commands to participant services over Kafka, through the transactional outbox.
+ * 
+ * A command is appended in the transaction that records its step as started, the same way
+ * participants append their replies, so it is sent if and only if the saga row moved on. The
+ * participant's reply arrives on the reply topic and is applied to the stored saga by
+ * {@link SagaReplyConsumer}, so a step in flight survives a restart of this replica and its reply
+ * can be handled by any replica. Commands are keyed by saga instance id; participants key their
+ * replies the same way, so the replies of one saga are applied one after another.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaCommandChannel {
+    private final TransactionalOutbox outbox;
+    private final SagaCommandProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Appends the command to the outbox; must be called inside the transaction that starts the step.
+     */
+    public void send(String destination, String sagaInstanceId, String stepName, SagaCommand command) {
+        command.setSagaInstanceId(sagaInstanceId);
+        command.setStepName(stepName);
+        command.setReplyTo(properties.getReplyTopic());
+        outbox.appendMessage(destination, sagaInstanceId, command);
+        log.debug("Queued {} for saga: {} to {}", stepName, sagaInstanceId, destination);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ftgo.orderservice.saga.command;
+
+import com.ftgo.common.saga.SagaReply;
+import com.ftgo.orderservice.saga.SagaManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Applies participant replies to saga commands.
+ * 
+ * Each reply is applied to the saga as stored, through the saga's mailbox, and the consumer waits
+ * for that before returning so the reply's offset is only committed once the saga has moved on.
+ * Replies are matched to their step by saga instance id and step name, and are delivered at least
+ * once; {@link SagaManager} ignores those for steps already applied.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaReplyConsumer {
+    private final SagaManager sagaManager;
+
+    @Bean
+    public Consumer<SagaReply> sagaReplies() {
+        return reply -> {
+            log.info("Received {} reply for saga: {}, success: {}",
+                    reply.getStepName(), reply.getSagaInstanceId(), reply.isSuccess());
+            if (reply.isSuccess()) {
+                sagaManager.handleStepResult(reply.getSagaInstanceId(), reply.getStepName(), reply.getResult()).join();
+            } else {
+                sagaManager.handleStepFailure(reply.getSagaInstanceId(), reply.getStepName(),
+                        new Exception(reply.getFailureReason())).join();
+            }
+        };
+    }
+}
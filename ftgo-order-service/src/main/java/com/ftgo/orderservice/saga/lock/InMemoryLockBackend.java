@@ -0,0 +1,173 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process lock backend for single-instance deployments and local runs; no network round trip.
+ *
+ * Lock-free: leases live in a concurrent map and are only changed by compare-and-set
+ * ({@code putIfAbsent}, {@code replace} and {@code remove} against the lease that was read), so no
+ * thread ever waits for another. Multi-resource acquisition claims resources in a fixed order and
+ * gives back what it claimed when it meets a lock held by another saga, so on failure nothing stays
+ * locked. Two sagas racing for overlapping resources meet on the first one they share, so only one
+ * of them can get past it. Locks are not shared between instances and do not survive restarts.
+ */
+@Component
+@ConditionalOnProperty(name = "ftgo.saga.lock.backend", havingValue = "in-memory")
+public class InMemoryLockBackend implements LockBackend {
+    private static final Comparator<LockResource> CLAIM_ORDER =
+            Comparator.comparing(LockResource::type).thenComparing(LockResource::id);
+
+    private final ConcurrentHashMap<LockResource, Lease> leases = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<LockResource>> locksByOwner = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<LockResource> acquireAll(String owner, List<LockResource> resources, Duration lease) {
+        List<LockResource> ordered = resources.stream().distinct().sorted(CLAIM_ORDER).toList();
+        long now = System.nanoTime();
+        Lease granted = new Lease(owner, now + lease.toNanos());
+        List<Claim> claims = new ArrayList<>(ordered.size());
+        for (LockResource resource : ordered) {
+            Claim claim = claim(resource, granted, now);
+            if (claim == null) {
+                claims.forEach(this::undo);
+                return Optional.of(resource);
+            }
+            claims.add(claim);
+        }
+        index(owner, ordered);
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean release(LockResource resource, String owner) {
+        Set<LockResource> owned = locksByOwner.get(owner);
+        if (owned != null) {
+            owned.remove(resource);
+            if (owned.isEmpty()) {
+                // A concurrent acquire notices the set is gone and indexes its resources again
+                locksByOwner.remove(owner, owned);
+            }
+        }
+        return releaseIfOwned(resource, owner);
+    }
+
+    @Override
+    public long releaseAll(String owner) {
+        Set<LockResource> owned = locksByOwner.remove(owner);
+        if (owned == null) {
+            return 0;
+        }
+        return owned.stream()
+                .filter(resource -> releaseIfOwned(resource, owner))
+                .count();
+    }
+
+    @Override
+    public boolean extend(LockResource resource, String owner, Duration lease) {
+        while (true) {
+            long now = System.nanoTime();
+            Lease current = leases.get(resource);
+            if (current == null || !current.owner().equals(owner) || current.isExpired(now)) {
+                return false;
+            }
+            if (leases.replace(resource, current, new Lease(owner, now + lease.toNanos()))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes the resource for the granted lease if it is free, expired or already the owner's.
+     *
+     * @return what to undo if a later resource is taken, or null if another saga holds it
+     */
+    private Claim claim(LockResource resource, Lease granted, long now) {
+        while (true) {
+            Lease current = leases.get(resource);
+            if (current == null) {
+                if (leases.putIfAbsent(resource, granted) == null) {
+                    return new Claim(resource, granted, null);
+                }
+            } else if (current.owner().equals(granted.owner())) {
+                if (leases.replace(resource, current, granted)) {
+                    return new Claim(resource, granted, current);
+                }
+            } else if (current.isExpired(now)) {
+                if (leases.replace(resource, current, granted)) {
+                    return new Claim(resource, granted, null);
+                }
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private void undo(Claim claim) {
+        if (claim.previous() != null) {
+            leases.replace(claim.resource(), claim.granted(), claim.previous());
+        } else {
+            leases.remove(claim.resource(), claim.granted());
+        }
+    }
+
+    /**
+     * Records the resources under their owner. If releaseAll or release took the owner's set away
+     * meanwhile, the resources go into a new one, so an acquired lock is never left unindexed.
+     */
+    private void index(String owner, List<LockResource> resources) {
+        while (true) {
+            Set<LockResource> owned = locksByOwner.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet());
+            owned.addAll(resources);
+            if (locksByOwner.get(owner) == owned) {
+                return;
+            }
+        }
+    }
+
+    private boolean releaseIfOwned(LockResource resource, String owner) {
+        while (true) {
+            Lease current = leases.get(resource);
+            if (current == null || !current.owner().equals(owner)) {
+                return false;
+            }
+            if (leases.remove(resource, current)) {
+                return true;
+            }
+        }
+    }
+
+    private record Claim(LockResource resource, Lease granted, Lease previous) {
+    }
+
+    /**
+     * Compared by identity, so compare-and-set only succeeds against the exact lease that was read.
+     */
+    private static final class Lease {
+        private final String owner;
+        private final long expiresAtNanos;
+
+        Lease(String owner, long expiresAtNanos) {
+            this.owner = owner;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        String owner() {
+            return owner;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for semantic locks, selected with ftgo.saga.lock.backend.
+ * 
+ * A lock is owned by a saga until it is released or its lease expires. Implementations must make
+ * {@link #acquireAll} all-or-nothing and re-entrant: locks already owned by the saga are kept and
+ * their lease renewed.
+ */
+public interface LockBackend {
+
+    /**
+     * @return empty if the saga now owns every resource, otherwise a resource owned by another saga
+     *         (in which case nothing was locked)
+     */
+    Optional<LockResource> acquireAll(String owner, List<LockResource> resources, Duration lease);
+
+    /**
+     * @return true if the lock was owned by the saga and has been released
+     */
+    boolean release(LockResource resource, String owner);
+
+    /**
+     * @return number of locks released
+     */
+    long releaseAll(String owner);
+
+    /**
+     * @return true if the lock is owned by the saga and its lease was renewed
+     */
+    boolean extend(LockResource resource, String owner, Duration lease);
+}
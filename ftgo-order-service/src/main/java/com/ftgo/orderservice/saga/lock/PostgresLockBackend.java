@@ -0,0 +1,92 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lock backend on the order service's own Postgres database, for deployments without Redis.
+ * 
+ * Locks are lease rows in saga_locks. Acquisition is one batched upsert per call: a row is taken
+ * over only when it is free, expired or already owned by the saga, and the call rolls back if any
+ * row is held by another saga. Rows are written in key order so concurrent multi-resource
+ * acquisitions cannot deadlock. Every call runs in its own transaction so locks become visible
+ * (and are kept) independently of the caller's transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "ftgo.saga.lock.backend", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresLockBackend implements LockBackend {
+    private static final String ACQUIRE_LOCK =
+        "INSERT INTO saga_locks (lock_key, owner, expires_at) VALUES (?, ?, ?) " +
+        "ON CONFLICT (lock_key) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+        "WHERE saga_locks.owner = EXCLUDED.owner OR saga_locks.expires_at < ?";
+    private static final String EXTEND_LOCK =
+        "UPDATE saga_locks SET expires_at = ? WHERE lock_key = ? AND owner = ? AND expires_at >= ?";
+    private static final String RELEASE_LOCK = "DELETE FROM saga_locks WHERE lock_key = ? AND owner = ?";
+    private static final String RELEASE_ALL_LOCKS = "DELETE FROM saga_locks WHERE owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<LockResource> acquireAll(String owner, List<LockResource> resources, Duration lease) {
+        List<LockResource> ordered = resources.stream()
+                .sorted(Comparator.comparing(PostgresLockBackend::lockKey))
+                .toList();
+        Instant now = Instant.now();
+        Timestamp expiresAt = Timestamp.from(now.plus(lease));
+        Timestamp nowTimestamp = Timestamp.from(now);
+        
+        int[] updated = jdbcTemplate.batchUpdate(ACQUIRE_LOCK, ordered, ordered.size(), (ps, resource) -> {
+            ps.setString(1, lockKey(resource));
+            ps.setString(2, owner);
+            ps.setTimestamp(3, expiresAt);
+            ps.setTimestamp(4, nowTimestamp);
+        })[0];
+        
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return Optional.of(ordered.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(LockResource resource, String owner) {
+        return jdbcTemplate.update(RELEASE_LOCK, lockKey(resource), owner) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long releaseAll(String owner) {
+        return jdbcTemplate.update(RELEASE_ALL_LOCKS, owner);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean extend(LockResource resource, String owner, Duration lease) {
+        Instant now = Instant.now();
+        return jdbcTemplate.update(EXTEND_LOCK,
+                Timestamp.from(now.plus(lease)), lockKey(resource), owner, Timestamp.from(now)) > 0;
+    }
+
+    private static String lockKey(LockResource resource) {
+        return resource.type() + ":" + resource.id();
+    }
+}
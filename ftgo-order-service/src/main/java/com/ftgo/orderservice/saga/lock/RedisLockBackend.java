@@ -0,0 +1,130 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Distributed lock backend on Redis; the default.
+ * 
+ * Acquisition of any number of locks is one Lua script call. Each saga's lock keys are also kept
+ * in a per-saga set (saga:locks:{sagaInstanceId}), so releasing all locks of a saga touches only
+ * that saga's keys, in a single script call. The scripts access lock keys listed in that set,
+ * which assumes a single Redis node (or all lock keys in one hash slot), as configured for this service.
+ */
+@Component
+@ConditionalOnProperty(name = "ftgo.saga.lock.backend", havingValue = "redis", matchIfMissing = true)
+public class RedisLockBackend implements LockBackend {
+    private static final String LOCK_PREFIX = "saga:lock:";
+    private static final String LOCK_INDEX_PREFIX = "saga:locks:";
+    // KEYS[1] = saga lock set, KEYS[2..n] = lock keys; ARGV[1] = saga id, ARGV[2] = lease in millis.
+    // Returns 0 when all locks are held, otherwise the 1-based position of the first conflicting resource.
+    private static final String ACQUIRE_LOCKS_SCRIPT =
+        "for i = 2, #KEYS do " +
+        "  local holder = redis.call('get', KEYS[i]) " +
+        "  if holder and holder ~= ARGV[1] then " +
+        "    return i - 1 " +
+        "  end " +
+        "end " +
+        "for i = 2, #KEYS do " +
+        "  redis.call('set', KEYS[i], ARGV[1], 'PX', ARGV[2]) " +
+        "  redis.call('sadd', KEYS[1], KEYS[i]) " +
+        "end " +
+        "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+        "return 0";
+    private static final String EXTEND_LOCK_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+        "  redis.call('pexpire', KEYS[2], ARGV[2]) " +
+        "  return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+        "else " +
+        "  return 0 " +
+        "end";
+    private static final String RELEASE_LOCK_SCRIPT = 
+        "redis.call('srem', KEYS[2], KEYS[1]) " +
+        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+        "  return redis.call('del', KEYS[1]) " +
+        "else " +
+        "  return 0 " +
+        "end";
+    private static final String RELEASE_ALL_LOCKS_SCRIPT =
+        "local released = 0 " +
+        "for _, key in ipairs(redis.call('smembers', KEYS[1])) do " +
+        "  if redis.call('get', key) == ARGV[1] then " +
+        "    released = released + redis.call('del', key) " +
+        "  end " +
+        "end " +
+        "redis.call('del', KEYS[1]) " +
+        "return released";
+    
+    private final RedisTemplate<String, String> redisTemplate;
+    private final DefaultRedisScript<Long> acquireLocksScript;
+    private final DefaultRedisScript<Long> extendLockScript;
+    private final DefaultRedisScript<Long> releaseLockScript;
+    private final DefaultRedisScript<Long> releaseAllLocksScript;
+
+    public RedisLockBackend(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.acquireLocksScript = new DefaultRedisScript<>(ACQUIRE_LOCKS_SCRIPT, Long.class);
+        this.extendLockScript = new DefaultRedisScript<>(EXTEND_LOCK_SCRIPT, Long.class);
+        this.releaseLockScript = new DefaultRedisScript<>(RELEASE_LOCK_SCRIPT, Long.class);
+        this.releaseAllLocksScript = new DefaultRedisScript<>(RELEASE_ALL_LOCKS_SCRIPT, Long.class);
+    }
+
+    @Override
+    public Optional<LockResource> acquireAll(String owner, List<LockResource> resources, Duration lease) {
+        List<String> keys = new ArrayList<>(resources.size() + 1);
+        keys.add(LOCK_INDEX_PREFIX + owner);
+        for (LockResource resource : resources) {
+            keys.add(lockKey(resource));
+        }
+        
+        Long conflict = redisTemplate.execute(acquireLocksScript, keys, owner, String.valueOf(lease.toMillis()));
+        if (conflict == null) {
+            throw new IllegalStateException("No reply from Redis acquiring locks for saga: " + owner);
+        }
+        return conflict == 0 ? Optional.empty() : Optional.of(resources.get((int) (conflict - 1)));
+    }
+
+    @Override
+    public boolean release(LockResource resource, String owner) {
+        Long result = redisTemplate.execute(
+            releaseLockScript,
+            List.of(lockKey(resource), LOCK_INDEX_PREFIX + owner),
+            owner
+        );
+        return result != null && result > 0;
+    }
+
+    @Override
+    public long releaseAll(String owner) {
+        Long released = redisTemplate.execute(
+            releaseAllLocksScript,
+            Collections.singletonList(LOCK_INDEX_PREFIX + owner),
+            owner
+        );
+        return released != null ? released : 0;
+    }
+
+    @Override
+    public boolean extend(LockResource resource, String owner, Duration lease) {
+        Long extended = redisTemplate.execute(
+            extendLockScript,
+            List.of(lockKey(resource), LOCK_INDEX_PREFIX + owner),
+            owner,
+            String.valueOf(lease.toMillis())
+        );
+        return extended != null && extended > 0;
+    }
+
+    private static String lockKey(LockResource resource) {
+        return LOCK_PREFIX + resource.type() + ":" + resource.id();
+    }
+}
@@ -4,15 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents a saga instance with its state and execution history.
@@ -36,8 +35,12 @@ public class SagaInstance {
         return mapper;
     }
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String sagaType;
 
@@ -57,46 +60,62 @@ public class SagaInstance {
     @Column(unique = true)
     private String idempotencyKey;
 
-    @OneToMany(mappedBy = "sagaInstance", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<SagaStepExecution> stepExecutions = new ArrayList<>();
+    /**
+     * Step progress kept in the row itself: bit i is set once step i of the
+     * saga definition has completed.
+     */
+    @Column(nullable = false)
+    private long completedSteps;
+
+    private String currentStep;
+    private Instant stepStartedAt;
 
-    @Transient
-    private List<String> completedStepNames;
+    /**
+     * When the running step or the saga as a whole times out, whichever comes first;
+     * null once the saga has finished. Indexed for the timeout scan.
+     */
+    private Instant deadlineAt;
 
     public SagaInstance(String sagaType, Object sagaData) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.sagaType = sagaType;
         this.state = SagaState.STARTED;
         this.sagaData = serializeSagaData(sagaData);
         this.createdAt = Instant.now();
     }
 
-    public void startStep(String stepName) {
-        SagaStepExecution execution = new SagaStepExecution(this, stepName);
-        this.stepExecutions.add(execution);
+    public void startStep(String stepName, Duration stepTimeout, Duration sagaTimeout) {
+        this.currentStep = stepName;
+        this.stepStartedAt = Instant.now();
         this.state = SagaState.IN_PROGRESS;
+        Instant stepDeadline = stepStartedAt.plus(stepTimeout);
+        Instant sagaDeadline = createdAt.plus(sagaTimeout);
+        this.deadlineAt = stepDeadline.isBefore(sagaDeadline) ? stepDeadline : sagaDeadline;
     }
 
-    public void completeStep(String stepName, Object result) {
-        SagaStepExecution execution = findStepExecution(stepName)
-                .orElseThrow(() -> new IllegalStateException("Step not found: " + stepName));
-        execution.complete(result);
-        if (completedStepNames == null) {
-            completedStepNames = new ArrayList<>();
-        }
-        if (!completedStepNames.contains(stepName)) {
-            completedStepNames.add(stepName);
+    public void completeStep(int stepIndex, Object updatedSagaData) {
+        if (stepIndex < 0 || stepIndex >= Long.SIZE) {
+            throw new IllegalArgumentException("Step index out of range: " + stepIndex);
         }
+        this.completedSteps |= 1L << stepIndex;
+        this.sagaData = serializeSagaData(updatedSagaData);
+    }
+
+    public boolean isStepCompleted(int stepIndex) {
+        return (completedSteps & (1L << stepIndex)) != 0;
     }
 
     public void complete() {
         this.state = SagaState.COMPLETED;
         this.completedAt = Instant.now();
+        this.currentStep = null;
+        this.deadlineAt = null;
     }
 
     public void fail() {
         this.state = SagaState.FAILED;
         this.completedAt = Instant.now();
+        this.deadlineAt = null;
     }
 
     public void fail(String reason) {
@@ -108,20 +127,11 @@ public class SagaInstance {
         return this.state == SagaState.COMPLETED || this.state == SagaState.FAILED;
     }
 
-    public List<String> getCompletedStepNames() {
-        if (completedStepNames == null) {
-            completedStepNames = stepExecutions.stream()
-                    .filter(exec -> exec.getState() == StepExecutionState.COMPLETED)
-                    .map(SagaStepExecution::getStepName)
-                    .toList();
-        }
-        return completedStepNames;
-    }
-
-    private java.util.Optional<SagaStepExecution> findStepExecution(String stepName) {
-        return stepExecutions.stream()
-                .filter(exec -> exec.getStepName().equals(stepName))
-                .findFirst();
+    /**
+     * Records the version written by a conditional update of this row.
+     */
+    public void markStored(long newVersion) {
+        this.version = newVersion;
     }
 
     private String serializeSagaData(Object sagaData) {
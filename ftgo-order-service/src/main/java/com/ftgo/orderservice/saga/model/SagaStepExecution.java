@@ -1,26 +1,29 @@
 package com.ftgo.orderservice.saga.model;
 
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
- * Tracks the execution of a single saga step.
+ * Journal entry for a single saga step execution.
+ * Entries are insert-only; current step progress lives on {@link SagaInstance}.
  */
 @Entity
 @Table(name = "saga_step_executions")
 @Getter
 @NoArgsConstructor
 public class SagaStepExecution {
+    private static final int MAX_REASON_LENGTH = 500;
+
     @Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "saga_instance_id", nullable = false)
-    private SagaInstance sagaInstance;
+    @Column(name = "saga_instance_id", nullable = false, columnDefinition = "uuid")
+    private String sagaInstanceId;
 
     @Column(nullable = false)
     private String stepName;
@@ -36,28 +39,30 @@ public class SagaStepExecution {
     private Instant completedAt;
     private String failureReason;
 
-    public SagaStepExecution(SagaInstance sagaInstance, String stepName) {
-        this.id = UUID.randomUUID().toString();
-        this.sagaInstance = sagaInstance;
+    private SagaStepExecution(String sagaInstanceId, String stepName, StepExecutionState state, Instant startedAt) {
+        this.id = IdGenerator.newId();
+        this.sagaInstanceId = sagaInstanceId;
         this.stepName = stepName;
-        this.state = StepExecutionState.STARTED;
-        this.startedAt = Instant.now();
+        this.state = state;
+        this.startedAt = startedAt != null ? startedAt : Instant.now();
+        this.completedAt = Instant.now();
     }
 
-    public void complete(Object result) {
-        this.state = StepExecutionState.COMPLETED;
-        this.result = result != null ? result.toString() : null;
-        this.completedAt = Instant.now();
+    public static SagaStepExecution completed(String sagaInstanceId, String stepName, Instant startedAt, Object result) {
+        SagaStepExecution execution = new SagaStepExecution(sagaInstanceId, stepName, StepExecutionState.COMPLETED, startedAt);
+        execution.result = result != null ? result.toString() : null;
+        return execution;
     }
 
-    public void fail(String reason) {
-        this.state = StepExecutionState.FAILED;
-        this.failureReason = reason;
-        this.completedAt = Instant.now();
+    public static SagaStepExecution failed(String sagaInstanceId, String stepName, Instant startedAt, String reason) {
+        SagaStepExecution execution = new SagaStepExecution(sagaInstanceId, stepName, StepExecutionState.FAILED, startedAt);
+        execution.failureReason = reason != null && reason.length() > MAX_REASON_LENGTH
+                ? reason.substring(0, MAX_REASON_LENGTH)
+                : reason;
+        return execution;
     }
 
-    public void compensate() {
-        this.state = StepExecutionState.COMPENSATED;
+    public static SagaStepExecution compensated(String sagaInstanceId, String stepName) {
+        return new SagaStepExecution(sagaInstanceId, stepName, StepExecutionState.COMPENSATED, null);
     }
 }
-
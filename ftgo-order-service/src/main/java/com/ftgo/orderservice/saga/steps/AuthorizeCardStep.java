@@ -1,12 +1,16 @@
 package com.ftgo.orderservice.saga.steps;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.saga.AuthorizePaymentCommand;
+import com.ftgo.orderservice.infrastructure.http.DownstreamClients;
 import com.ftgo.orderservice.saga.AsyncSagaStep;
 import com.ftgo.orderservice.saga.CreateOrderSagaData;
+import com.ftgo.orderservice.saga.command.SagaCommandChannel;
 import com.ftgo.orderservice.saga.model.SagaStepResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.function.Consumer;
 
@@ -15,12 +19,18 @@ import java.util.function.Consumer;
  * Compensating transaction: Release the authorization
  * 
  * This step is orchestrated by the SagaManager, not driven by events.
+ * With ftgo.saga.commands.enabled the payment is requested with an AuthorizePaymentCommand on
+ * accounting-commands and the payment id arrives as accounting-service's reply.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AuthorizeCardStep implements AsyncSagaStep {
-    private final WebClient.Builder webClientBuilder;
+    private static final String COMMAND_DESTINATION = "accounting-commands";
+
+    private final DownstreamClients downstreamClients;
+    private final SagaCommandChannel commandChannel;
+    private final ObjectMapper objectMapper;
 
     @Override
     public String getName() {
@@ -34,9 +44,9 @@ public class AuthorizeCardStep implements AsyncSagaStep {
         CreateOrderSagaData data = (CreateOrderSagaData) sagaData;
         
         // Call Accounting Service to authorize payment via REST (orchestrated command)
-        webClientBuilder.build()
+        downstreamClients.get(DownstreamClients.ACCOUNTING_SERVICE)
                 .post()
-                .uri("http://accounting-service/payments")
+                .uri("/payments")
                 .bodyValue(createPaymentRequest(data))
                 .retrieve()
                 .bodyToMono(String.class)
@@ -52,6 +62,17 @@ public class AuthorizeCardStep implements AsyncSagaStep {
                 .subscribe();
     }
 
+    @Override
+    public boolean awaitsReply() {
+        return commandChannel.isEnabled();
+    }
+
+    @Override
+    public void sendCommand(Object sagaData) {
+        CreateOrderSagaData data = (CreateOrderSagaData) sagaData;
+        commandChannel.send(COMMAND_DESTINATION, data.getSagaInstanceId(), getName(), authorizePaymentCommand(data));
+    }
+
     @Override
     public boolean hasCompensation() {
         return true;
@@ -65,9 +86,9 @@ public class AuthorizeCardStep implements AsyncSagaStep {
         
         // Release the authorization via REST command
         if (data.getPaymentId() != null) {
-            webClientBuilder.build()
+            downstreamClients.get(DownstreamClients.ACCOUNTING_SERVICE)
                     .post()
-                    .uri("http://accounting-service/payments/{paymentId}/release", data.getPaymentId())
+                    .uri("/payments/{paymentId}/release", data.getPaymentId())
                     .retrieve()
                     .bodyToMono(Void.class)
                     .doOnSuccess(v -> {
@@ -91,6 +112,13 @@ public class AuthorizeCardStep implements AsyncSagaStep {
         return new PaymentRequest(data.getOrderId(), data.getCustomerId(), data.getOrderTotal());
     }
 
+    private AuthorizePaymentCommand authorizePaymentCommand(CreateOrderSagaData data) {
+        // The order total is stored with the saga as JSON: {"amount": ..., "currency": ...}
+        JsonNode total = objectMapper.valueToTree(data.getOrderTotal());
+        return new AuthorizePaymentCommand(data.getOrderId(), data.getCustomerId(),
+                total.path("amount").asText(), total.path("currency").asText());
+    }
+
     private record PaymentRequest(String orderId, String customerId, Object orderTotal) {}
 }
 
@@ -1,14 +1,18 @@
 package com.ftgo.orderservice.saga.steps;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.common.saga.CreateTicketCommand;
+import com.ftgo.orderservice.infrastructure.http.DownstreamClients;
 import com.ftgo.orderservice.saga.AsyncSagaStep;
 import com.ftgo.orderservice.saga.CreateOrderSagaData;
+import com.ftgo.orderservice.saga.command.SagaCommandChannel;
 import com.ftgo.orderservice.saga.model.SagaStepResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -16,12 +20,19 @@ import java.util.function.Consumer;
  * Compensating transaction: Cancel the ticket
  * 
  * This step is orchestrated by the SagaManager, not driven by events.
+ * With ftgo.saga.commands.enabled the ticket is requested with a CreateTicketCommand on
+ * kitchen-commands and the ticket id arrives as kitchen-service's reply.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CreateTicketStep implements AsyncSagaStep {
-    private final WebClient.Builder webClientBuilder;
+    private static final String COMMAND_DESTINATION = "kitchen-commands";
+    private static final TypeReference<List<CreateTicketCommand.LineItem>> LINE_ITEMS = new TypeReference<>() {};
+
+    private final DownstreamClients downstreamClients;
+    private final SagaCommandChannel commandChannel;
+    private final ObjectMapper objectMapper;
 
     @Override
     public String getName() {
@@ -36,9 +47,9 @@ public class CreateTicketStep implements AsyncSagaStep {
         
         // Call Kitchen Service synchronously via REST (orchestrated command)
         // The orchestrator waits for this to complete before proceeding
-        webClientBuilder.build()
+        downstreamClients.get(DownstreamClients.KITCHEN_SERVICE)
                 .post()
-                .uri("http://kitchen-service/tickets")
+                .uri("/tickets")
                 .bodyValue(createTicketRequest(data))
                 .retrieve()
                 .bodyToMono(String.class)
@@ -56,6 +67,17 @@ public class CreateTicketStep implements AsyncSagaStep {
                 .subscribe();
     }
 
+    @Override
+    public boolean awaitsReply() {
+        return commandChannel.isEnabled();
+    }
+
+    @Override
+    public void sendCommand(Object sagaData) {
+        CreateOrderSagaData data = (CreateOrderSagaData) sagaData;
+        commandChannel.send(COMMAND_DESTINATION, data.getSagaInstanceId(), getName(), createTicketCommand(data));
+    }
+
     @Override
     public boolean hasCompensation() {
         return true;
@@ -69,9 +91,9 @@ public class CreateTicketStep implements AsyncSagaStep {
         
         // Cancel the ticket in Kitchen Service via REST command
         if (data.getTicketId() != null) {
-            webClientBuilder.build()
+            downstreamClients.get(DownstreamClients.KITCHEN_SERVICE)
                     .delete()
-                    .uri("http://kitchen-service/tickets/{ticketId}", data.getTicketId())
+                    .uri("/tickets/{ticketId}", data.getTicketId())
                     .retrieve()
                     .bodyToMono(Void.class)
                     .doOnSuccess(v -> {
@@ -96,6 +118,12 @@ public class CreateTicketStep implements AsyncSagaStep {
         return new TicketRequest(data.getOrderId(), data.getRestaurantId(), data.getLineItems());
     }
 
+    private CreateTicketCommand createTicketCommand(CreateOrderSagaData data) {
+        // Line items are stored with the saga as JSON; only menu item, name and quantity go to the kitchen
+        List<CreateTicketCommand.LineItem> lineItems = objectMapper.convertValue(data.getLineItems(), LINE_ITEMS);
+        return new CreateTicketCommand(data.getOrderId(), data.getRestaurantId(), lineItems, data.getDeliveryTime());
+    }
+
     // Inner class for ticket request
     private record TicketRequest(String orderId, String restaurantId, Object lineItems) {}
 }
@@ -1,5 +1,6 @@
 package com.ftgo.orderservice.saga.steps;
 
+import com.ftgo.orderservice.application.MenuPriceValidator;
 import com.ftgo.orderservice.domain.Order;
 import com.ftgo.orderservice.domain.OrderRepository;
 import com.ftgo.orderservice.saga.AsyncSagaStep;
@@ -22,6 +23,7 @@ import java.util.function.Consumer;
 @Slf4j
 public class ValidateOrderStep implements AsyncSagaStep {
     private final OrderRepository orderRepository;
+    private final MenuPriceValidator menuPriceValidator;
 
     @Override
     public String getName() {
@@ -34,12 +36,11 @@ public class ValidateOrderStep implements AsyncSagaStep {
         
         try {
             CreateOrderSagaData data = (CreateOrderSagaData) sagaData;
-            Order order = orderRepository.findById(data.getOrderId())
+            Order order = orderRepository.findWithLineItemsById(data.getOrderId())
                     .orElseThrow(() -> new IllegalStateException("Order not found: " + data.getOrderId()));
             
-            // Validate order (check customer, restaurant, menu items, etc.)
-            // In a real implementation, this would call other services
-            // For now, we'll just approve the order
+            // Validate menu items and prices against the local menu replica
+            menuPriceValidator.validate(order.getRestaurantId(), order.getLineItems());
             order.approve();
             orderRepository.save(order);
             
@@ -0,0 +1,53 @@
+package com.ftgo.orderservice.view;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Where an order is across services: its own state, its kitchen ticket, its delivery and its payment.
+ * Written only by {@link OrderViewProjector}; read-only through JPA.
+ */
+@Entity
+@Table(name = "order_views")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class OrderView {
+    @Id
+    private String orderId;
+
+    private String customerId;
+    private String restaurantId;
+    private String deliveryAddress;
+    private String deliveryTime;
+
+    private String orderState;
+    private String orderStateReason;
+    private Instant orderUpdatedAt;
+
+    private String ticketId;
+    private String ticketState;
+    private String readyBy;
+    private Instant ticketUpdatedAt;
+
+    private String deliveryId;
+    private String deliveryState;
+    private String courierId;
+    private String pickedUpAt;
+    private String deliveredAt;
+    private Instant deliveryUpdatedAt;
+
+    private String paymentId;
+    private String paymentState;
+    private Instant paymentUpdatedAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.ftgo.orderservice.view;
+
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.codec.EventCodecs;
+import com.ftgo.common.events.dispatch.KeyOrderedEventDispatcher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Feeds the order view from order-events, kitchen-events, delivery-events and accounting-events.
+ * Bound with one consumer thread per partition, so topics are projected in parallel. Each poll is
+ * projected as a batch spread over dispatch workers by aggregate id, so one partition's events are
+ * projected on several threads while each aggregate's events keep their order.
+ */
+@Component
+@Slf4j
+public class OrderViewEventConsumer {
+    private final OrderViewProjector projector;
+    private final KeyOrderedEventDispatcher dispatcher;
+
+    public OrderViewEventConsumer(OrderViewProjector projector, EventCodecs eventCodecs,
+                                  @Value("${ftgo.order-view.dispatch-threads:0}") int dispatchThreads) {
+        this.projector = projector;
+        this.dispatcher = new KeyOrderedEventDispatcher("order-view", dispatchThreads, eventCodecs);
+    }
+
+    @Bean
+    public Consumer<Message<List<byte[]>>> orderViewEvents() {
+        return dispatcher.batchConsumer(event -> {
+            if (projector.project(event)) {
+                log.debug("Projected {} with id: {} into order view", event.getClass().getSimpleName(), event.getEventId());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.close();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ftgo.orderservice.view;
+
+import com.ftgo.common.events.DeliveryCreatedEvent;
+import com.ftgo.common.events.DeliveryDeliveredEvent;
+import com.ftgo.common.events.DeliveryPickedUpEvent;
+import com.ftgo.common.events.DomainEvent;
+import com.ftgo.common.events.OrderApprovedEvent;
+import com.ftgo.common.events.OrderCancelledEvent;
+import com.ftgo.common.events.OrderCreatedEvent;
+import com.ftgo.common.events.OrderRejectedEvent;
+import com.ftgo.common.events.PaymentCompletedEvent;
+import com.ftgo.common.events.PaymentFailedEvent;
+import com.ftgo.common.events.TicketAcceptedEvent;
+import com.ftgo.common.events.TicketCreatedEvent;
+import com.ftgo.common.events.TicketPreparingEvent;
+import com.ftgo.common.events.TicketReadyEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies events from order, kitchen, delivery and accounting to the order_views row of their order,
+ * one upsert per event.
+ *
+ * Each source (order, ticket, delivery, payment) owns its own columns. A source's state columns are
+ * only overwritten by an event at least as recent as the one that last wrote them (by occurredAt),
+ * and descriptive columns keep their last non-null value. Events from different topics and partitions
+ * can therefore arrive in any order, or be replayed, and the row still converges.
+ */
+@Component
+@Slf4j
+public class OrderViewProjector {
+    private static final Source ORDER = new Source("order",
+            List.of("customer_id", "restaurant_id", "delivery_address", "delivery_time"),
+            List.of("order_state", "order_state_reason"));
+    private static final Source TICKET = new Source("ticket",
+            List.of("ticket_id", "ready_by"),
+            List.of("ticket_state"));
+    private static final Source DELIVERY = new Source("delivery",
+            List.of("delivery_id", "courier_id", "picked_up_at", "delivered_at"),
+            List.of("delivery_state"));
+    private static final Source PAYMENT = new Source("payment",
+            List.of("payment_id"),
+            List.of("payment_state"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderViewProjector(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return false if the event does not concern the order view
+     */
+    public boolean project(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent e) {
+            apply(ORDER, e, e.getOrderId(), e.getCustomerId(), e.getRestaurantId(), e.getDeliveryAddress(), e.getDeliveryTime(),
+                    "PENDING", null);
+        } else if (event instanceof OrderApprovedEvent e) {
+            apply(ORDER, e, e.getOrderId(), e.getCustomerId(), e.getRestaurantId(), null, null, "APPROVED", null);
+        } else if (event instanceof OrderRejectedEvent e) {
+            apply(ORDER, e, e.getOrderId(), null, null, null, null, "REJECTED", e.getReason());
+        } else if (event instanceof OrderCancelledEvent e) {
+            apply(ORDER, e, e.getOrderId(), null, null, null, null, "CANCELLED", e.getReason());
+        } else if (event instanceof TicketCreatedEvent e) {
+            apply(TICKET, e, e.getOrderId(), e.getTicketId(), e.getReadyBy(), "CREATED");
+        } else if (event instanceof TicketAcceptedEvent e) {
+            apply(TICKET, e, e.getOrderId(), e.getTicketId(), e.getReadyBy(), "ACCEPTED");
+        } else if (event instanceof TicketPreparingEvent e) {
+            apply(TICKET, e, e.getOrderId(), e.getTicketId(), null, "PREPARING");
+        } else if (event instanceof TicketReadyEvent e) {
+            apply(TICKET, e, e.getOrderId(), e.getTicketId(), e.getReadyBy(), "READY");
+        } else if (event instanceof DeliveryCreatedEvent e) {
+            apply(DELIVERY, e, e.getOrderId(), e.getDeliveryId(), e.getCourierId(), null, null, "CREATED");
+        } else if (event instanceof DeliveryPickedUpEvent e) {
+            apply(DELIVERY, e, e.getOrderId(), e.getDeliveryId(), null, e.getPickedUpAt(), null, "PICKED_UP");
+        } else if (event instanceof DeliveryDeliveredEvent e) {
+            apply(DELIVERY, e, e.getOrderId(), e.getDeliveryId(), null, null, e.getDeliveredAt(), "DELIVERED");
+        } else if (event instanceof PaymentCompletedEvent e) {
+            apply(PAYMENT, e, e.getOrderId(), e.getPaymentId(), "COMPLETED");
+        } else if (event instanceof PaymentFailedEvent e) {
+            apply(PAYMENT, e, e.getOrderId(), e.getPaymentId(), "FAILED");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param values the source's descriptive columns followed by its state columns, in declaration order
+     */
+    private void apply(Source source, DomainEvent event, String orderId, Object... values) {
+        if (orderId == null) {
+            log.warn("Ignoring {} without an order id", event.getClass().getSimpleName());
+            return;
+        }
+        Instant occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : Instant.now();
+        List<Object> parameters = new ArrayList<>(values.length + 3);
+        parameters.add(orderId);
+        parameters.addAll(Arrays.asList(values));
+        parameters.add(Timestamp.from(occurredAt));
+        parameters.add(Timestamp.from(Instant.now()));
+        jdbcTemplate.update(source.upsert(), parameters.toArray());
+    }
+
+    private record Source(String name, List<String> descriptiveColumns, List<String> stateColumns, String upsert) {
+        Source(String name, List<String> descriptiveColumns, List<String> stateColumns) {
+            this(name, descriptiveColumns, stateColumns, buildUpsert(name, descriptiveColumns, stateColumns));
+        }
+
+        private static String buildUpsert(String name, List<String> descriptiveColumns, List<String> stateColumns) {
+            String versionColumn = name + "_updated_at";
+            List<String> columns = new ArrayList<>();
+            columns.add("order_id");
+            columns.addAll(descriptiveColumns);
+            columns.addAll(stateColumns);
+            columns.add(versionColumn);
+            columns.add("updated_at");
+
+            String newer = "(order_views." + versionColumn + " IS NULL OR order_views." + versionColumn
+                    + " <= EXCLUDED." + versionColumn + ")";
+            List<String> assignments = new ArrayList<>();
+            descriptiveColumns.forEach(column ->
+                    assignments.add(column + " = COALESCE(EXCLUDED." + column + ", order_views." + column + ")"));
+            stateColumns.forEach(column ->
+                    assignments.add(column + " = CASE WHEN " + newer + " THEN EXCLUDED." + column
+                            + " ELSE order_views." + column + " END"));
+            assignments.add(versionColumn + " = GREATEST(order_views." + versionColumn + ", EXCLUDED." + versionColumn + ")");
+            assignments.add("updated_at = EXCLUDED.updated_at");
+
+            return "INSERT INTO order_views (" + String.join(", ", columns) + ") VALUES ("
+                    + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") "
+                    + "ON CONFLICT (order_id) DO UPDATE SET " + String.join(", ", assignments);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ftgo.orderservice.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Rebuilds the order view by replaying its topics from the beginning.
+ * 
+ * With ftgo.order-view.replay-on-startup, every partition first assigned to this instance is rewound,
+ * so each partition is replayed by its own consumer thread. The projection is idempotent, so the view
+ * can be rebuilt in place, or truncated first to drop rows that no longer have events.
+ */
+@Component
+@Slf4j
+public class OrderViewReplayListener implements KafkaBindingRebalanceListener {
+    private static final String BINDING = "orderViewEvents-in-0";
+
+    @Value("${ftgo.order-view.replay-on-startup:false}")
+    private boolean replayOnStartup;
+
+    @Override
+    public void onPartitionsAssigned(String bindingName, Consumer<?, ?> consumer,
+                                     Collection<TopicPartition> partitions, boolean initial) {
+        if (replayOnStartup && initial && BINDING.equals(bindingName)) {
+            log.info("Replaying {} partitions into the order view: {}", partitions.size(), partitions);
+            consumer.seekToBeginning(partitions);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.ftgo.orderservice.view;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, String> {
+}
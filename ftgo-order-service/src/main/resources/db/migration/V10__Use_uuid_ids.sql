@@ -0,0 +1,16 @@
+-- Ids are UUIDv7 (time-ordered) since IdGenerator; store them as 16-byte uuid instead of text.
+-- Existing ids are random UUIDs, so they convert as they are. Indexes on the columns are rebuilt.
+ALTER TABLE order_line_items DROP CONSTRAINT order_line_items_order_id_fkey;
+ALTER TABLE saga_step_executions DROP CONSTRAINT saga_step_executions_saga_instance_id_fkey;
+
+ALTER TABLE orders ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE order_line_items ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE order_line_items ALTER COLUMN order_id TYPE uuid USING order_id::uuid;
+ALTER TABLE saga_instances ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE saga_step_executions ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE saga_step_executions ALTER COLUMN saga_instance_id TYPE uuid USING saga_instance_id::uuid;
+
+ALTER TABLE order_line_items ADD CONSTRAINT order_line_items_order_id_fkey
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE;
+ALTER TABLE saga_step_executions ADD CONSTRAINT saga_step_executions_saga_instance_id_fkey
+    FOREIGN KEY (saga_instance_id) REFERENCES saga_instances(id) ON DELETE CASCADE;
@@ -0,0 +1,4 @@
+-- Outbox payloads are encoded by the configured event codec (JSON or binary), so they are stored as
+-- raw bytes together with the content type the relay sends as the message's contentType header.
+ALTER TABLE outbox_messages ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
+ALTER TABLE outbox_messages ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
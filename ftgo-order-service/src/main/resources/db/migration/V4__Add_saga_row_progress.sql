@@ -0,0 +1,5 @@
+-- Step progress is kept in the saga_instances row; saga_step_executions becomes an insert-only journal
+ALTER TABLE saga_instances ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE saga_instances ADD COLUMN completed_steps BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE saga_instances ADD COLUMN current_step VARCHAR(100);
+ALTER TABLE saga_instances ADD COLUMN step_started_at TIMESTAMP;
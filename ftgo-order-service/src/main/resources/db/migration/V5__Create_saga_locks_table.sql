@@ -0,0 +1,8 @@
+-- Semantic lock leases, used when ftgo.saga.lock.backend=postgres
+CREATE TABLE saga_locks (
+    lock_key VARCHAR(255) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_saga_locks_owner ON saga_locks(owner);
@@ -0,0 +1,8 @@
+-- Deadline of the running step or saga, scanned by SagaTimeoutHandler; replicas claim rows until timeout_claimed_until
+ALTER TABLE saga_instances ADD COLUMN deadline_at TIMESTAMP;
+ALTER TABLE saga_instances ADD COLUMN timeout_claimed_until TIMESTAMP;
+
+UPDATE saga_instances SET deadline_at = created_at + INTERVAL '30 minutes'
+WHERE state IN ('STARTED', 'IN_PROGRESS');
+
+CREATE INDEX idx_saga_deadline ON saga_instances(deadline_at) WHERE deadline_at IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Idempotency-Key reservations and the responses replayed for retried requests
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    resource_id VARCHAR(255) NOT NULL,
+    response TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
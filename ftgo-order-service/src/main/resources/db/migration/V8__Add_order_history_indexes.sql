@@ -0,0 +1,11 @@
+-- Keyset pagination for GET /orders: newest first on (created_at, id) within each filter.
+-- Filter columns that are not in the key are included, so picking a page's ids is an index-only scan.
+CREATE INDEX idx_order_customer_created ON orders(customer_id, created_at DESC, id DESC) INCLUDE (restaurant_id, state);
+CREATE INDEX idx_order_restaurant_created ON orders(restaurant_id, created_at DESC, id DESC) INCLUDE (state);
+CREATE INDEX idx_order_state_created ON orders(state, created_at DESC, id DESC);
+CREATE INDEX idx_order_created ON orders(created_at DESC, id DESC) INCLUDE (customer_id, restaurant_id, state);
+
+-- Superseded by the indexes above, which start with the same column
+DROP INDEX IF EXISTS idx_order_customer;
+DROP INDEX IF EXISTS idx_order_restaurant;
+DROP INDEX IF EXISTS idx_order_state;
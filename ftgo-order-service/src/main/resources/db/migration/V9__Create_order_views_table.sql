@@ -0,0 +1,29 @@
+-- Denormalized order tracking read model, one row per order, fed by order, kitchen, delivery and accounting events.
+-- Each source's state columns are versioned by the occurredAt of the event that wrote them, so events can be
+-- applied in any order, and more than once, and the row still converges.
+CREATE TABLE order_views (
+    order_id VARCHAR(255) PRIMARY KEY,
+    customer_id VARCHAR(255),
+    restaurant_id VARCHAR(255),
+    delivery_address VARCHAR(500),
+    delivery_time VARCHAR(100),
+    order_state VARCHAR(50),
+    order_state_reason VARCHAR(500),
+    order_updated_at TIMESTAMP,
+    ticket_id VARCHAR(255),
+    ticket_state VARCHAR(50),
+    ready_by VARCHAR(100),
+    ticket_updated_at TIMESTAMP,
+    delivery_id VARCHAR(255),
+    delivery_state VARCHAR(50),
+    courier_id VARCHAR(255),
+    picked_up_at VARCHAR(100),
+    delivered_at VARCHAR(100),
+    delivery_updated_at TIMESTAMP,
+    payment_id VARCHAR(255),
+    payment_state VARCHAR(50),
+    payment_updated_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_order_view_customer ON order_views(customer_id);
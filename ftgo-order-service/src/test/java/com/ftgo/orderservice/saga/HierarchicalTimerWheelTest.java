@@ -0,0 +1,158 @@
+package com.ftgo.orderservice.saga;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimerWheelTest {
+    private static final Duration TICK = Duration.ofMillis(1);
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private long nanos;
+    private long tick;
+    private HierarchicalTimerWheel wheel;
+    private final Map<String, Long> firedAt = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        nanos = 1_000_000_000L;
+        tick = 0;
+        wheel = new HierarchicalTimerWheel(TICK, START, () -> nanos);
+    }
+
+    @Test
+    void firesTimerOnItsTick() {
+        schedule("t", 5);
+
+        stepTo(4);
+        assertTrue(firedAt.isEmpty());
+        stepTo(5);
+        assertEquals(Map.of("t", 5L), firedAt);
+    }
+
+    @Test
+    void roundsDeadlinesBetweenTicksUp() {
+        wheel.schedule(START.plus(TICK.multipliedBy(7)).plusNanos(1), () -> firedAt.put("t", tick));
+
+        stepTo(10);
+
+        assertEquals(Map.of("t", 8L), firedAt);
+    }
+
+    @Test
+    void cascadesTimersFromEveryLevelOntoTheirExactTick() {
+        long[] expiries = {1, 63, 64, 65, 127, 128, 4095, 4096, 4097, 4160, 262_143, 262_144, 262_145, 300_001};
+        for (long expiry : expiries) {
+            schedule("t" + expiry, expiry);
+        }
+
+        stepTo(300_001);
+
+        assertEquals(expiries.length, firedAt.size());
+        for (long expiry : expiries) {
+            assertEquals(expiry, firedAt.get("t" + expiry), "timer due at tick " + expiry);
+        }
+    }
+
+    @Test
+    void firesTimersBeyondTheTopLevelOnTime() {
+        long beyondWheel = (1L << 24) + 5;
+        schedule("far", beyondWheel);
+
+        jumpTo(beyondWheel - 1);
+        assertTrue(firedAt.isEmpty());
+        stepTo(beyondWheel);
+        assertEquals(Map.of("far", beyondWheel), firedAt);
+    }
+
+    @Test
+    void placesTimersScheduledLateRelativeToTheCurrentTick() {
+        // Not aligned to any level, so later timers land in slots behind the ones visited so far
+        jumpTo(4_133);
+
+        long[] expiries = {4_134, 4_160, 4_196, 4_197, 8_192, 8_229, 266_277};
+        for (long expiry : expiries) {
+            schedule("t" + expiry, expiry);
+        }
+        stepTo(266_277);
+
+        assertEquals(expiries.length, firedAt.size());
+        for (long expiry : expiries) {
+            assertEquals(expiry, firedAt.get("t" + expiry), "timer due at tick " + expiry);
+        }
+    }
+
+    @Test
+    void firesOverdueTimersOnTheNextAdvance() {
+        jumpTo(1_000);
+
+        schedule("overdue", 10);
+        wheel.schedule(START.minusSeconds(5), () -> firedAt.put("before-start", tick));
+        schedule("due-now", 1_000);
+        wheel.advance();
+
+        assertEquals(Map.of("overdue", 1_000L, "before-start", 1_000L, "due-now", 1_000L), firedAt);
+    }
+
+    @Test
+    void firesEveryExpiredTimerWhenTheWheelFallsBehind() {
+        List<Long> due = new ArrayList<>();
+        for (long expiry = 1; expiry <= 10_000; expiry += 37) {
+            schedule("t" + expiry, expiry);
+            due.add(expiry);
+        }
+        schedule("later", 10_001);
+
+        jumpTo(10_000);
+
+        assertEquals(due.size(), firedAt.size());
+        assertTrue(due.stream().allMatch(expiry -> firedAt.containsKey("t" + expiry)));
+        stepTo(10_001);
+        assertEquals(10_001L, firedAt.get("later"));
+    }
+
+    @Test
+    void firesAllTimersSharingASlot() {
+        for (int i = 0; i < 100; i++) {
+            schedule("t" + i, 4_100);
+        }
+
+        stepTo(4_099);
+        assertTrue(firedAt.isEmpty());
+        stepTo(4_100);
+        assertEquals(100, firedAt.size());
+    }
+
+    private void schedule(String name, long expiryTick) {
+        wheel.schedule(START.plus(TICK.multipliedBy(expiryTick)), () -> firedAt.put(name, tick));
+    }
+
+    /**
+     * Advances one tick at a time, so every timer fires with the tick it fired on.
+     */
+    private void stepTo(long target) {
+        while (tick < target) {
+            tick++;
+            nanos += TICK.toNanos();
+            wheel.advance();
+        }
+    }
+
+    /**
+     * Advances to the target in one call, as when the advancing thread was late.
+     */
+    private void jumpTo(long target) {
+        nanos += TICK.toNanos() * (target - tick);
+        tick = target;
+        wheel.advance();
+    }
+}
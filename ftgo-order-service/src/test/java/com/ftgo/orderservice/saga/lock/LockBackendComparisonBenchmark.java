@@ -0,0 +1,160 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Acquire/release cost of each lock backend, measured the way SemanticLockManager uses them:
+ * a saga takes its locks with one acquireAll, then gives them back with releaseAll. Every thread
+ * locks its own resources, so this measures the backends, not contention between sagas.
+ *
+ * Redis and Postgres need their address; Postgres needs a database migrated by the order service
+ * (saga_locks table). Without them, run only the in-process backend with -p backend=in-memory:
+ *
+ * <pre>
+ * mvn -pl ftgo-order-service test -Pbenchmarks -Djmh.args="LockBackendComparisonBenchmark" \
+ *     -Djmh.jvmArgs="-Dbenchmark.redis.host=localhost \
+ *     -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/ftgo_order \
+ *     -Dbenchmark.postgres.user=ftgo -Dbenchmark.postgres.password=ftgo123"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockBackendComparisonBenchmark {
+    private static final int LOCKS_PER_SAGA = 2;
+    private static final int THREADS = 8;
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Param({"in-memory", "redis", "postgres"})
+    private String backend;
+
+    private LockBackend lockBackend;
+    private LettuceConnectionFactory redis;
+    private HikariDataSource postgres;
+    private final AtomicInteger owners = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Saga {
+        private String owner;
+        private long next;
+
+        @Setup
+        public void owner(LockBackendComparisonBenchmark benchmark) {
+            owner = "worker-" + benchmark.owners.incrementAndGet();
+        }
+
+        List<LockResource> nextResources() {
+            String id = owner + "-" + next++;
+            List<LockResource> resources = new ArrayList<>(LOCKS_PER_SAGA);
+            for (int i = 0; i < LOCKS_PER_SAGA; i++) {
+                resources.add(LockResource.of("Bench" + i, id));
+            }
+            return resources;
+        }
+    }
+
+    @Setup
+    public void connect() {
+        lockBackend = switch (backend) {
+            case "in-memory" -> new InMemoryLockBackend();
+            case "redis" -> {
+                redis = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                        required("benchmark.redis.host"), Integer.getInteger("benchmark.redis.port", 6379)));
+                redis.afterPropertiesSet();
+                redis.start();
+                yield new RedisLockBackend(new StringRedisTemplate(redis));
+            }
+            case "postgres" -> {
+                postgres = new HikariDataSource();
+                postgres.setJdbcUrl(required("benchmark.postgres.url"));
+                postgres.setUsername(System.getProperty("benchmark.postgres.user", "ftgo"));
+                postgres.setPassword(System.getProperty("benchmark.postgres.password", "ftgo123"));
+                postgres.setMaximumPoolSize(THREADS);
+                yield postgres(postgres);
+            }
+            default -> throw new IllegalArgumentException("Unknown lock backend: " + backend);
+        };
+    }
+
+    @TearDown
+    public void disconnect() {
+        if (redis != null) {
+            redis.destroy();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<LockResource> acquireRelease(Saga saga) {
+        return cycle(saga);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(THREADS)
+    public Optional<LockResource> acquireReleaseThroughput(Saga saga) {
+        return cycle(saga);
+    }
+
+    private Optional<LockResource> cycle(Saga saga) {
+        Optional<LockResource> conflict = lockBackend.acquireAll(saga.owner, saga.nextResources(), LEASE);
+        if (conflict.isPresent()) {
+            throw new IllegalStateException(conflict.get() + " is held by another owner than " + saga.owner);
+        }
+        lockBackend.releaseAll(saga.owner);
+        return conflict;
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            throw new IllegalStateException(property + " is not set; run with -p backend=in-memory to skip this backend");
+        }
+        return value;
+    }
+
+    /**
+     * The Postgres backend needs a transaction per call, which Spring normally adds through a proxy.
+     */
+    private static LockBackend postgres(HikariDataSource dataSource) {
+        ProxyFactory proxyFactory = new ProxyFactory(new PostgresLockBackend(new JdbcTemplate(dataSource)));
+        proxyFactory.addAdvice(new TransactionInterceptor(
+                new DataSourceTransactionManager(dataSource), new AnnotationTransactionAttributeSource()));
+        return (LockBackend) proxyFactory.getProxy();
+    }
+}
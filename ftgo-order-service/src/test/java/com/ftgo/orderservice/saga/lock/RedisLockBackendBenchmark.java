@@ -0,0 +1,135 @@
+package com.ftgo.orderservice.saga.lock;
+
+import com.ftgo.orderservice.saga.LockResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency of acquiring and releasing one saga's locks on Redis, with no other locks and with
+ * 1M locks of other sagas outstanding.
+ *
+ * Release walks only the saga's own lock set, so its latency must be about the same for both
+ * values of outstandingLocks (the KEYS scan it replaced grew linearly). Needs a Redis it may write
+ * about 1M keys to; all of them are removed afterwards:
+ *
+ * <pre>
+ * mvn -pl ftgo-order-service test -Pbenchmarks -Djmh.args="RedisLockBackendBenchmark" \
+ *     -Djmh.jvmArgs="-Dbenchmark.redis.host=localhost -Dbenchmark.redis.port=6379"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisLockBackendBenchmark {
+    private static final int LOCKS_PER_SAGA = 4;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Param({"0", "1000000"})
+    private int outstandingLocks;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisLockBackend backend;
+    private long sagas;
+
+    /**
+     * A fresh saga whose locks are taken before each call.
+     */
+    @State(Scope.Thread)
+    public static class LockedSaga {
+        private String owner;
+
+        @Setup(Level.Invocation)
+        public void acquire(RedisLockBackendBenchmark benchmark) {
+            owner = benchmark.nextOwner();
+            benchmark.backend.acquireAll(owner, resources(owner), LEASE);
+        }
+    }
+
+    /**
+     * A fresh saga whose locks are given back after each call.
+     */
+    @State(Scope.Thread)
+    public static class ReleasedSaga {
+        private String owner;
+        private List<LockResource> resources;
+
+        @Setup(Level.Invocation)
+        public void next(RedisLockBackendBenchmark benchmark) {
+            owner = benchmark.nextOwner();
+            resources = resources(owner);
+        }
+
+        @TearDown(Level.Invocation)
+        public void release(RedisLockBackendBenchmark benchmark) {
+            benchmark.backend.releaseAll(owner);
+        }
+    }
+
+    @Setup
+    public void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("benchmark.redis.host", "localhost"),
+                Integer.getInteger("benchmark.redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        backend = new RedisLockBackend(new StringRedisTemplate(connectionFactory));
+
+        IntStream.range(0, outstandingLocks / LOCKS_PER_SAGA).parallel()
+                .forEach(saga -> backend.acquireAll(fillerOwner(saga), resources("filler-" + saga), LEASE));
+    }
+
+    @TearDown
+    public void disconnect() {
+        IntStream.range(0, outstandingLocks / LOCKS_PER_SAGA).parallel()
+                .forEach(saga -> backend.releaseAll(fillerOwner(saga)));
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public Optional<LockResource> acquireAll(ReleasedSaga saga) {
+        return backend.acquireAll(saga.owner, saga.resources, LEASE);
+    }
+
+    @Benchmark
+    public void releaseAll(LockedSaga saga) {
+        backend.releaseAll(saga.owner);
+    }
+
+    private String nextOwner() {
+        return "bench-" + sagas++;
+    }
+
+    private static List<LockResource> resources(String id) {
+        return IntStream.range(0, LOCKS_PER_SAGA)
+                .mapToObj(i -> LockResource.of("Bench" + i, id))
+                .toList();
+    }
+
+    private static String fillerOwner(int saga) {
+        return "filler-saga-" + saga;
+    }
+}
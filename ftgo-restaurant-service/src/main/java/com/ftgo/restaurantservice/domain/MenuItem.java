@@ -1,12 +1,12 @@
 package com.ftgo.restaurantservice.domain;
 
 import com.ftgo.common.domain.Money;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.UUID;
 
 @Entity
 @Table(name = "menu_items")
@@ -28,7 +28,7 @@ public class MenuItem {
     private Money price;
 
     public MenuItem(String name, Money price) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.name = name;
         this.price = price;
     }
@@ -4,13 +4,13 @@ import com.ftgo.common.domain.Money;
 import com.ftgo.common.events.DomainEvent;
 import com.ftgo.common.events.MenuUpdatedEvent;
 import com.ftgo.common.events.RestaurantCreatedEvent;
+import com.ftgo.common.id.IdGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Entity
@@ -34,7 +34,7 @@ public class Restaurant {
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Restaurant(String name, String address) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerator.newId();
         this.name = name;
         this.address = address;
         this.domainEvents.add(new RestaurantCreatedEvent(this.id, this.name, this.address));